@@ -1,17 +1,33 @@
 package com.carservice.automation.base;
 
+import com.carservice.automation.selectors.LocatorRegistry;
+import com.carservice.automation.utils.AngularStabilityWaiter;
 import com.carservice.automation.utils.ConfigReader;
 import com.carservice.automation.utils.ScreenshotUtils;
+import com.carservice.automation.utils.SelectorRanking;
+import com.carservice.automation.utils.SelfHealingElement;
+import com.carservice.automation.utils.SleepAudit;
+import com.carservice.automation.utils.TimeoutPolicy;
+import com.carservice.automation.utils.WaitBudget;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Base Page class containing common functionality for all page objects
@@ -20,6 +36,65 @@ public abstract class BasePage {
 
     private static final Logger logger = LogManager.getLogger(BasePage.class);
 
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(15);
+
+    // First match per selector must be displayed and enabled, as with ExpectedConditions.elementToBeClickable
+    private static final String SELECTOR_RACE_SCRIPT =
+            "var selectors = arguments[0];" +
+            "for (var i = 0; i < selectors.length; i++) {" +
+            "  var el;" +
+            "  try {" +
+            "    el = document.evaluate(selectors[i], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "  } catch (e) { continue; }" +
+            "  if (!el || el.nodeType !== 1 || el.disabled) { continue; }" +
+            "  var style = window.getComputedStyle(el);" +
+            "  if (style.visibility === 'hidden' || style.display === 'none' || el.getClientRects().length === 0) { continue; }" +
+            "  return [el, i];" +
+            "}" +
+            "return null;";
+
+    // Shared lookup for the batch scripts: CSS translation when the locator registry has one, XPath otherwise
+    private static final String BATCH_FIND_FUNCTION =
+            "var find = function (locator) {" +
+            "  try {" +
+            "    return locator.css ? document.querySelector(locator.css)" +
+            "      : document.evaluate(locator.xpath, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "  } catch (e) { return null; }" +
+            "};";
+
+    // Text, visibility, enabled state and the requested attributes of each locator's first match, null if absent
+    private static final String BATCH_READ_SCRIPT = BATCH_FIND_FUNCTION +
+            "var attributes = arguments[1];" +
+            "return arguments[0].map(function (locator) {" +
+            "  var el = find(locator);" +
+            "  if (!el || el.nodeType !== 1) { return null; }" +
+            "  var style = window.getComputedStyle(el), attrs = {};" +
+            "  attributes.forEach(function (name) {" +
+            "    attrs[name] = name === 'value' && 'value' in el ? String(el.value) : el.getAttribute(name);" +
+            "  });" +
+            "  return {element: el, text: (el.innerText || el.textContent || '').trim(), attributes: attrs, enabled: !el.disabled," +
+            "          displayed: el.getClientRects().length > 0 && style.visibility !== 'hidden' && style.display !== 'none'};" +
+            "});";
+
+    // Each action runs on its own; returns an error message per action, null when it succeeded
+    private static final String BATCH_ACTION_SCRIPT = BATCH_FIND_FUNCTION +
+            "return arguments[0].map(function (action) {" +
+            "  var el = find(action);" +
+            "  if (!el) { return 'not found'; }" +
+            "  try {" +
+            "    if (action.value === null) {" +
+            "      el.scrollIntoView({block: 'center'});" +
+            "      el.click();" +
+            "    } else {" +
+            "      var descriptor = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(el), 'value');" +
+            "      if (descriptor && descriptor.set) { descriptor.set.call(el, action.value); } else { el.value = action.value; }" +
+            "      el.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "      el.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "    }" +
+            "    return null;" +
+            "  } catch (e) { return String(e.message || e); }" +
+            "});";
+
     protected final WebDriver driver;
     protected final WebDriverWait wait;
     protected final ConfigReader configReader;
@@ -27,7 +102,7 @@ public abstract class BasePage {
 
     protected BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.wait = new BudgetedWait(driver, DEFAULT_TIMEOUT, null);
         this.configReader = new ConfigReader();
         this.jsExecutor = (JavascriptExecutor) driver;
     }
@@ -38,8 +113,11 @@ public abstract class BasePage {
      * @return WebElement or null if not found
      */
     protected WebElement findElementWithWait(String xpath) {
+        long start = System.currentTimeMillis();
         try {
-            return wait.until(ExpectedConditions.presenceOfElementLocated(By.xpath(xpath)));
+            WebElement element = waitFor("present " + xpath).until(ExpectedConditions.presenceOfElementLocated(LocatorRegistry.get(xpath)));
+            TimeoutPolicy.record("present " + xpath, start);
+            return SelfHealingElement.wrap(driver, LocatorRegistry.get(xpath), 0, element);
         } catch (Exception e) {
             logger.debug("Element not found with xpath: {}", xpath);
             return null;
@@ -52,8 +130,11 @@ public abstract class BasePage {
      * @return WebElement or null if not found
      */
     protected WebElement findClickableElementWithWait(String xpath) {
+        long start = System.currentTimeMillis();
         try {
-            return wait.until(ExpectedConditions.elementToBeClickable(By.xpath(xpath)));
+            WebElement element = waitFor("clickable " + xpath).until(ExpectedConditions.elementToBeClickable(LocatorRegistry.get(xpath)));
+            TimeoutPolicy.record("clickable " + xpath, start);
+            return SelfHealingElement.wrap(driver, LocatorRegistry.get(xpath), 0, element);
         } catch (Exception e) {
             logger.debug("Clickable element not found with xpath: {}", xpath);
             return null;
@@ -62,22 +143,53 @@ public abstract class BasePage {
 
     /**
      * Find element with multiple selectors
+     * All selectors are evaluated together on every poll, so the lookup takes as long as the
+     * first selector that matches rather than the timeouts of the ones that do not.
+     * Candidates are tried in the order ranked by {@link SelectorRanking} for the element name
      * @param selectors Array of XPath selectors
-     * @param elementName Name of element for logging
+     * @param elementName Name of element for logging, also the key for selector statistics
      * @return WebElement
      * @throws RuntimeException if element not found with any selector
      */
     protected WebElement findElementWithMultipleSelectors(String[] selectors, String elementName) {
-        for (String selector : selectors) {
-            try {
-                WebElement element = wait.until(ExpectedConditions.elementToBeClickable(By.xpath(selector)));
-                logger.info("Found {} with selector: {}", elementName, selector);
-                return element;
-            } catch (Exception e) {
-                logger.debug("{} not found with selector: {}", elementName, selector);
-            }
+        String[] ranked = SelectorRanking.rank(elementName, selectors);
+        long start = System.currentTimeMillis();
+        try {
+            // A navigation between polls fails the script; keep polling as the locator-based waits do
+            List<Object> match = waitFor("element " + elementName)
+                    .ignoring(JavascriptException.class)
+                    .until(webDriver -> raceSelectors(ranked));
+            int index = ((Number) match.get(1)).intValue();
+            long elapsed = System.currentTimeMillis() - start;
+            TimeoutPolicy.record("element " + elementName, start);
+            SelectorRanking.recordWin(elementName, ranked[index], elapsed);
+            logger.info("Found {} with selector #{} in {} ms: {}", elementName, index + 1, elapsed, ranked[index]);
+            // The script returns the first match of the winning selector
+            return SelfHealingElement.wrap(driver, LocatorRegistry.get(ranked[index]), 0, (WebElement) match.get(0));
+        } catch (TimeoutException e) {
+            SelectorRanking.recordMiss(elementName, System.currentTimeMillis() - start);
+            logger.debug("{} not found with any of {} selectors", elementName, selectors.length);
+            throw new RuntimeException("Could not find " + elementName + " with any selector", e);
         }
-        throw new RuntimeException("Could not find " + elementName + " with any selector");
+    }
+
+    /**
+     * Get a wait whose timeout is learned by {@link TimeoutPolicy} for the key, 15s until it has a history
+     * @param key Wait key, e.g. "clickable " + xpath
+     * @return WebDriverWait instance that records its waits in {@link WaitBudget} under the key
+     */
+    protected WebDriverWait waitFor(String key) {
+        return new BudgetedWait(driver, TimeoutPolicy.timeoutFor(key, DEFAULT_TIMEOUT), key);
+    }
+
+    /**
+     * Evaluate all selectors in one script call, the equivalent of elementToBeClickable for each
+     * @param selectors Array of XPath selectors
+     * @return [element, selector index] of the first selector whose first match is clickable, or null
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> raceSelectors(String[] selectors) {
+        return (List<Object>) jsExecutor.executeScript(SELECTOR_RACE_SCRIPT, Arrays.asList(selectors));
     }
 
     /**
@@ -145,14 +257,76 @@ public abstract class BasePage {
 
     /**
      * Wait for specified duration
+     * Prefer {@link #waitForCondition(String, ExpectedCondition)}; with wait.audit.enabled=true the
+     * sleep is recorded per call site together with how long the page actually took to settle
      * @param milliseconds Duration to wait in milliseconds
      */
     protected void waitForElement(long milliseconds) {
+        long start = System.currentTimeMillis();
         try {
+            if (SleepAudit.isEnabled()) {
+                SleepAudit.sleep(driver, milliseconds);
+                return;
+            }
             Thread.sleep(milliseconds);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             logger.warn("Wait interrupted: {}", e.getMessage());
+        } finally {
+            WaitBudget.record("sleep " + milliseconds + " ms", start);
+        }
+    }
+
+    /**
+     * Wait for a named post-condition instead of sleeping after an action
+     * @param name Short description of what the action leads to, e.g. "repairer info panel visible"
+     * @param condition Condition that becomes true once the action has taken effect
+     * @return Condition result
+     * @throws RuntimeException if the condition is not met within the default timeout
+     */
+    protected <T> T waitForCondition(String name, ExpectedCondition<T> condition) {
+        return waitForCondition(name, condition, 15);
+    }
+
+    /**
+     * Wait for a named post-condition with custom timeout
+     * @param name Short description of what the action leads to
+     * @param condition Condition that becomes true once the action has taken effect
+     * @param timeoutSeconds Custom timeout, used until {@link TimeoutPolicy} has learned one for the name
+     * @return Condition result
+     * @throws RuntimeException if the condition is not met within the timeout
+     */
+    protected <T> T waitForCondition(String name, ExpectedCondition<T> condition, int timeoutSeconds) {
+        Duration timeout = TimeoutPolicy.timeoutFor("condition " + name, Duration.ofSeconds(timeoutSeconds));
+        long start = System.currentTimeMillis();
+        try {
+            T result = new WebDriverWait(driver, timeout).until(condition);
+            long elapsed = System.currentTimeMillis() - start;
+            TimeoutPolicy.record("condition " + name, start);
+            SleepAudit.recordCondition(name, elapsed, true);
+            logger.debug("Condition '{}' met after {} ms", name, elapsed);
+            return result;
+        } catch (TimeoutException e) {
+            SleepAudit.recordCondition(name, System.currentTimeMillis() - start, false);
+            logger.error("Condition '{}' not met within {} ms", name, timeout.toMillis());
+            throw new RuntimeException("Condition not met: " + name, e);
+        } finally {
+            WaitBudget.record("condition " + name, start);
+        }
+    }
+
+    /**
+     * Wait until the Angular app is idle (no pending HTTP calls, timers or change detection)
+     * instead of sleeping for a fixed time after an action
+     */
+    protected void waitForAppIdle() {
+        long start = System.currentTimeMillis();
+        try {
+            AngularStabilityWaiter.waitForStable(driver);
+        } catch (Exception e) {
+            logger.debug("App idle wait failed: {}", e.getMessage());
+        } finally {
+            WaitBudget.record("app idle", start);
         }
     }
 
@@ -163,7 +337,7 @@ public abstract class BasePage {
      */
     protected boolean isElementPresent(String xpath) {
         try {
-            driver.findElement(By.xpath(xpath));
+            driver.findElement(LocatorRegistry.get(xpath));
             return true;
         } catch (Exception e) {
             return false;
@@ -177,7 +351,7 @@ public abstract class BasePage {
      */
     protected boolean isElementDisplayed(String xpath) {
         try {
-            WebElement element = driver.findElement(By.xpath(xpath));
+            WebElement element = driver.findElement(LocatorRegistry.get(xpath));
             return element.isDisplayed();
         } catch (Exception e) {
             return false;
@@ -228,13 +402,90 @@ public abstract class BasePage {
         }
     }
 
+    /**
+     * Read the state of several elements in one script call instead of one or more round trips per element
+     * @param xpathsByName XPath locators keyed by a name for each element, e.g. "Start button"
+     * @param attributes Attributes to read from every element ("value" reads the current input value)
+     * @return State per name, in the order given; elements that are not present have present=false
+     */
+    @SuppressWarnings("unchecked")
+    protected Map<String, ElementState> readElements(Map<String, String> xpathsByName, String... attributes) {
+        List<Map<String, Object>> locators = new ArrayList<>();
+        xpathsByName.values().forEach(xpath -> locators.add(batchLocator(xpath)));
+
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) jsExecutor.executeScript(
+                BATCH_READ_SCRIPT, locators, Arrays.asList(attributes));
+
+        Map<String, ElementState> states = new LinkedHashMap<>();
+        int i = 0;
+        for (Map.Entry<String, String> entry : xpathsByName.entrySet()) {
+            Map<String, Object> row = rows.get(i++);
+            ElementState state = new ElementState();
+            state.name = entry.getKey();
+            if (row != null) {
+                state.present = true;
+                state.element = SelfHealingElement.wrap(driver, LocatorRegistry.get(entry.getValue()), 0, (WebElement) row.get("element"));
+                state.text = (String) row.get("text");
+                state.displayed = Boolean.TRUE.equals(row.get("displayed"));
+                state.enabled = Boolean.TRUE.equals(row.get("enabled"));
+                ((Map<String, Object>) row.get("attributes")).forEach((name, value) ->
+                        state.attributes.put(name, value == null ? null : String.valueOf(value)));
+            }
+            states.put(entry.getKey(), state);
+        }
+        logger.debug("Read {} elements in one call: {}", states.size(), states.values());
+        return states;
+    }
+
+    /**
+     * Perform independent clicks and value sets in one script call
+     * Clicks are DOM clicks and values are set through the native setter followed by input and change
+     * events, so use it for actions that do not depend on each other's result
+     * @param actions Actions, performed in order
+     * @throws RuntimeException if any action failed, after all of them were attempted
+     */
+    @SuppressWarnings("unchecked")
+    protected void performActions(ElementAction... actions) {
+        List<Map<String, Object>> payload = new ArrayList<>();
+        for (ElementAction action : actions) {
+            Map<String, Object> locator = batchLocator(action.xpath);
+            locator.put("value", action.value);
+            payload.add(locator);
+        }
+
+        List<Object> errors = (List<Object>) jsExecutor.executeScript(BATCH_ACTION_SCRIPT, payload);
+
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < actions.length; i++) {
+            if (errors.get(i) == null) {
+                logger.info("{} successfully", actions[i]);
+            } else {
+                failures.add(actions[i] + " (" + errors.get(i) + ")");
+            }
+        }
+        if (!failures.isEmpty()) {
+            logger.error("Failed actions: {}", failures);
+            throw new RuntimeException("Could not perform: " + String.join(", ", failures));
+        }
+    }
+
+    private Map<String, Object> batchLocator(String xpath) {
+        Map<String, Object> locator = new HashMap<>();
+        locator.put("xpath", xpath);
+        locator.put("css", LocatorRegistry.get(xpath).getCss());
+        return locator;
+    }
+
     /**
      * Wait until element is clickable
      * @param xpath XPath locator
      * @return WebElement when clickable
      */
     protected WebElement waitForElementToBeClickable(String xpath) {
-        return wait.until(ExpectedConditions.elementToBeClickable(By.xpath(xpath)));
+        long start = System.currentTimeMillis();
+        WebElement element = waitFor("clickable " + xpath).until(ExpectedConditions.elementToBeClickable(LocatorRegistry.get(xpath)));
+        TimeoutPolicy.record("clickable " + xpath, start);
+        return SelfHealingElement.wrap(driver, LocatorRegistry.get(xpath), 0, element);
     }
 
     /**
@@ -243,6 +494,94 @@ public abstract class BasePage {
      * @return WebElement when visible
      */
     protected WebElement waitForElementToBeVisible(String xpath) {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(xpath)));
+        long start = System.currentTimeMillis();
+        WebElement element = waitFor("visible " + xpath).until(ExpectedConditions.visibilityOfElementLocated(LocatorRegistry.get(xpath)));
+        TimeoutPolicy.record("visible " + xpath, start);
+        return SelfHealingElement.wrap(driver, LocatorRegistry.get(xpath), 0, element);
+    }
+
+    /**
+     * Element state read by {@link #readElements}
+     */
+    public static class ElementState {
+        public String name;
+        public WebElement element;
+        public boolean present;
+        public boolean displayed;
+        public boolean enabled;
+        public String text = "";
+        public Map<String, String> attributes = new HashMap<>();
+
+        public String getAttribute(String attributeName) {
+            return attributes.get(attributeName);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ElementState{name='%s', present=%s, displayed=%s, enabled=%s, text='%s'}",
+                    name, present, displayed, enabled, text);
+        }
+    }
+
+    /**
+     * Click or value set performed by {@link #performActions}
+     */
+    public static class ElementAction {
+        private final String name;
+        private final String xpath;
+        private final String value;
+
+        private ElementAction(String name, String xpath, String value) {
+            this.name = name;
+            this.xpath = xpath;
+            this.value = value;
+        }
+
+        /**
+         * Click an element
+         * @param name Element name for logging
+         * @param xpath XPath locator
+         */
+        public static ElementAction click(String name, String xpath) {
+            return new ElementAction(name, xpath, null);
+        }
+
+        /**
+         * Set an input's value
+         * @param name Element name for logging
+         * @param xpath XPath locator
+         * @param value New value, "" to clear
+         */
+        public static ElementAction setValue(String name, String xpath, String value) {
+            return new ElementAction(name, xpath, value);
+        }
+
+        @Override
+        public String toString() {
+            return value == null ? "Clicked " + name : "Set " + name + " to '" + value + "'";
+        }
+    }
+
+    /**
+     * WebDriverWait that records every until() in {@link WaitBudget}, so waits on {@link #wait}
+     * and {@link #waitFor} are accounted like the other BasePage waits
+     */
+    private static class BudgetedWait extends WebDriverWait {
+        private final String waitName;
+
+        private BudgetedWait(WebDriver driver, Duration timeout, String waitName) {
+            super(driver, timeout);
+            this.waitName = waitName;
+        }
+
+        @Override
+        public <V> V until(Function<? super WebDriver, V> isTrue) {
+            long start = System.currentTimeMillis();
+            try {
+                return super.until(isTrue);
+            } finally {
+                WaitBudget.record(waitName != null ? waitName : "wait " + isTrue, start);
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,10 @@
 package com.carservice.automation.base;
 
 import com.carservice.automation.utils.ConfigReader;
+import com.carservice.automation.utils.ReadinessProbe;
 import com.carservice.automation.utils.ScreenshotUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.ITestResult;
@@ -107,6 +107,15 @@ public class BaseTest {
                 // Provide helpful troubleshooting information
                 provideTroubleshootingInfo(browserName, driverEx);
 
+                // Quit a session that started but failed its checks, so its browser is not left running
+                if (driver != null) {
+                    try {
+                        DriverManager.quitDriver();
+                    } catch (Exception quitEx) {
+                        logger.warn("⚠️ Error quitting driver after failed setup: {}", quitEx.getMessage());
+                    }
+                }
+
                 // Ensure driver is null for safety
                 driver = null;
 
@@ -150,30 +159,20 @@ public class BaseTest {
                 }
             }
 
-            // Close browser
+            // Release browser (quits it, or returns it to the pool in pooled mode)
             if (driver != null) {
-                logger.info("🚫 Quitting driver...");
+                logger.info("🚫 Releasing driver...");
                 try {
-                    driver.quit();
-                    logger.info("✅ Driver quit successfully");
+                    DriverManager.quitDriver();
+                    logger.info("✅ Driver released successfully");
                 } catch (Exception e) {
-                    logger.warn("⚠️ Error while quitting driver: {}", e.getMessage());
+                    logger.warn("⚠️ Error while releasing driver: {}", e.getMessage());
                 }
                 driver = null;
             } else {
                 logger.warn("⚠️ Driver was null during teardown - setup likely failed");
             }
 
-            // Also cleanup DriverManager
-            try {
-                if (DriverManager.isDriverInitialized()) {
-                    logger.info("🧹 Cleaning up DriverManager...");
-                    DriverManager.quitDriver();
-                }
-            } catch (Exception e) {
-                logger.warn("⚠️ Error during DriverManager cleanup: {}", e.getMessage());
-            }
-
         } catch (Exception e) {
             logger.warn("⚠️ Error during teardown: {}", e.getMessage());
         }
@@ -240,9 +239,7 @@ public class BaseTest {
     protected void waitForPageToLoad() {
         try {
             logger.info("⏳ Waiting for page to load...");
-            wait.until(webDriver ->
-                    ((JavascriptExecutor) webDriver).executeScript("return document.readyState").equals("complete"));
-            Thread.sleep(2000); // Additional buffer
+            ReadinessProbe.awaitCurrentPage(driver, Integer.parseInt(getConfigProperty("explicit.wait", "20")));
             logger.info("✅ Page loaded successfully");
         } catch (Exception e) {
             logger.warn("⚠️ Page load wait issue: {}", e.getMessage());
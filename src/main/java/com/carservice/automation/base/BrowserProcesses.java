@@ -0,0 +1,145 @@
+package com.carservice.automation.base;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Operating-system view of the browser processes behind WebDriver sessions.
+ *
+ * Chromium browsers are found among the JVM's descendant processes by the remote debugging port
+ * ChromeDriver/EdgeDriver report in their capabilities; Firefox reports its pid directly.
+ * Resident memory is read from /proc on Linux and from ps elsewhere; it is not available on Windows.
+ */
+public class BrowserProcesses {
+
+    private static final Logger logger = LogManager.getLogger(BrowserProcesses.class);
+
+    /**
+     * Find the main browser process of a session
+     * @param driver WebDriver instance
+     * @return Browser process, empty if it cannot be determined
+     */
+    public static Optional<ProcessHandle> findBrowserProcess(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities)) {
+            return Optional.empty();
+        }
+        Capabilities capabilities = ((HasCapabilities) driver).getCapabilities();
+
+        Object firefoxPid = capabilities.getCapability("moz:processID");
+        if (firefoxPid instanceof Number) {
+            return ProcessHandle.of(((Number) firefoxPid).longValue());
+        }
+
+        String debuggerAddress = getDebuggerAddress(capabilities);
+        if (debuggerAddress == null || !debuggerAddress.contains(":")) {
+            return Optional.empty();
+        }
+        String portSwitch = "--remote-debugging-port=" + debuggerAddress.substring(debuggerAddress.lastIndexOf(':') + 1);
+
+        // Child processes (renderers, GPU, ...) carry --type=, the browser process does not
+        return ProcessHandle.current().descendants()
+                .filter(process -> {
+                    List<String> arguments = getArguments(process);
+                    return arguments.contains(portSwitch) && arguments.stream().noneMatch(arg -> arg.startsWith("--type="));
+                })
+                .findFirst();
+    }
+
+    /**
+     * Get the resident memory of a process and all of its descendants
+     * @param process Root process
+     * @return Resident set size in bytes, or -1 if it cannot be measured on this platform
+     */
+    public static long getTreeResidentBytes(ProcessHandle process) {
+        long rootBytes = getResidentBytes(process.pid());
+        if (rootBytes < 0) {
+            return -1;
+        }
+        return rootBytes + process.descendants()
+                .mapToLong(child -> Math.max(0, getResidentBytes(child.pid())))
+                .sum();
+    }
+
+    /**
+     * Get the resident memory of a single process
+     * @param pid Process id
+     * @return Resident set size in bytes, or -1 if it cannot be measured
+     */
+    public static long getResidentBytes(long pid) {
+        Path status = Paths.get("/proc", String.valueOf(pid), "status");
+        if (Files.exists(status)) {
+            try (Stream<String> lines = Files.lines(status, StandardCharsets.UTF_8)) {
+                return lines.filter(line -> line.startsWith("VmRSS:"))
+                        .findFirst()
+                        .map(line -> Long.parseLong(line.replaceAll("\\D", "")) * 1024)
+                        .orElse(-1L);
+            } catch (IOException | NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        if (System.getProperty("os.name", "").toLowerCase().contains("win")) {
+            return -1;
+        }
+
+        try {
+            Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", String.valueOf(pid)).start();
+            if (!ps.waitFor(5, TimeUnit.SECONDS)) {
+                ps.destroyForcibly();
+                return -1;
+            }
+            String output = new String(ps.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return output.isEmpty() ? -1 : Long.parseLong(output) * 1024;
+        } catch (IOException | NumberFormatException e) {
+            logger.debug("Could not read RSS of pid {}: {}", pid, e.getMessage());
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    /**
+     * Get the command-line arguments of a process, empty when the OS does not expose them
+     */
+    public static List<String> getArguments(ProcessHandle process) {
+        return process.info().arguments().map(List::of).orElse(List.of());
+    }
+
+    /**
+     * Get the executable name of a process, e.g. "chrome" or "chromedriver"
+     */
+    public static String getExecutableName(ProcessHandle process) {
+        return process.info().command()
+                .map(command -> Paths.get(command).getFileName().toString())
+                .orElse("");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String getDebuggerAddress(Capabilities capabilities) {
+        for (String key : new String[]{"goog:chromeOptions", "ms:edgeOptions"}) {
+            Object options = capabilities.getCapability(key);
+            if (options instanceof Map) {
+                Object address = ((Map<String, Object>) options).get("debuggerAddress");
+                if (address != null) {
+                    return address.toString();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,368 @@
+package com.carservice.automation.base;
+
+import com.carservice.automation.utils.ConfigurationManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Warmed "golden" Chrome user-data-dir built once per run and cloned for every session.
+ *
+ * The template is built by visiting enduser.app.url and backoffice.app.url in a throwaway
+ * session, so the HTTP cache, compiled code cache and service workers of both apps are already
+ * populated when a test session starts. Cookies and storage left by the warm-up visits are removed
+ * before the template is used. Every clone gets its own copy of every file, since Chrome rewrites
+ * cache entries and databases in place: clone=reflink copies with copy-on-write where the
+ * filesystem supports it (cp --reflink=auto), clone=copy always copies byte for byte.
+ *
+ * The template is built by the first session that needs it, outside any lock; concurrent sessions
+ * wait for that build. If the build fails, the failure is remembered and every session of the run
+ * starts with a normal empty profile instead.
+ */
+public class BrowserProfileTemplate {
+
+    private static final Logger logger = LogManager.getLogger(BrowserProfileTemplate.class);
+
+    // Per-origin state of the warm-up visits, relative to the profile directory
+    private static final Set<String> SESSION_STATE = Set.of(
+            "Cookies", "Cookies-journal", "Network/Cookies", "Network/Cookies-journal",
+            "Local Storage", "Session Storage", "Sessions");
+    private static final Set<String> LOCK_FILES = Set.of(
+            "SingletonLock", "SingletonSocket", "SingletonCookie", "lockfile", "LOCK");
+
+    // Headless flag -> template build, completed exceptionally if the build failed
+    private static final Map<Boolean, CompletableFuture<Path>> templates = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, Path> sessionProfiles = new ConcurrentHashMap<>();
+    private static final Set<Path> clones = ConcurrentHashMap.newKeySet();
+
+    // Reference numbers measured while building the template from an empty profile
+    private static volatile long emptyProfileStartupMillis = -1;
+    private static volatile long emptyProfileFirstLoadMillis = -1;
+    private static volatile long warmProfileLoadMillis = -1;
+
+    private static final AtomicLong templatedSessions = new AtomicLong();
+    private static final AtomicLong totalCloneMillis = new AtomicLong();
+    private static final AtomicLong totalTemplatedStartupMillis = new AtomicLong();
+
+    /**
+     * Check whether template profile cloning is enabled in configuration
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigurationManager.getSystemPropertyOrConfig(
+                "driver.profile.template.enabled", "driver.profile.template.enabled", "false"));
+    }
+
+    /**
+     * Create a fresh copy of the template for a new session, building the template first if needed
+     * @param headless Whether the session runs headless (the template is built in the same mode)
+     * @return Path to pass as --user-data-dir, or null if the session should use a normal empty profile
+     */
+    public static Path cloneForSession(boolean headless) {
+        Path template = getTemplate(headless);
+        if (template == null) {
+            return null;
+        }
+
+        long start = System.currentTimeMillis();
+        Path clone = null;
+        try {
+            clone = Files.createTempDirectory("autoteam-profile-");
+            clones.add(clone);
+            boolean reflink = "reflink".equalsIgnoreCase(ConfigurationManager.getProperty("driver.profile.template.clone", "reflink"));
+            if (!reflink || !reflinkProfile(template, clone)) {
+                copyProfile(template, clone);
+            }
+            long cloneMillis = System.currentTimeMillis() - start;
+            totalCloneMillis.addAndGet(cloneMillis);
+            logger.info("🧬 Cloned profile template to {} in {} ms", clone, cloneMillis);
+            return clone;
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not clone browser profile template {}, using an empty profile: {}", template, e.getMessage());
+            if (clone != null) {
+                clones.remove(clone);
+                deleteQuietly(clone);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Get the template for a mode, building it on the calling thread if no other session has.
+     * The build runs outside the map so that a Chrome launch never blocks inside a compute call
+     * @return Template directory, or null if building it failed in this run
+     */
+    private static Path getTemplate(boolean headless) {
+        CompletableFuture<Path> build = templates.get(headless);
+        if (build == null) {
+            CompletableFuture<Path> ownBuild = new CompletableFuture<>();
+            build = templates.putIfAbsent(headless, ownBuild);
+            if (build == null) {
+                build = ownBuild;
+                try {
+                    ownBuild.complete(buildTemplate(headless));
+                } catch (RuntimeException e) {
+                    logger.warn("⚠️ Could not build browser profile template, sessions of this run use an empty profile: {}",
+                            e.getMessage());
+                    ownBuild.completeExceptionally(e);
+                } finally {
+                    // Never leave waiting sessions blocked, even if the build died with an Error
+                    ownBuild.completeExceptionally(new IllegalStateException("Profile template build aborted"));
+                }
+            }
+        }
+
+        try {
+            return build.join();
+        } catch (CompletionException | CancellationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Remember which cloned profile a session uses and how long it took to start
+     */
+    static void registerSession(WebDriver driver, Path profile, long startupMillis) {
+        sessionProfiles.put(driver, profile);
+        templatedSessions.incrementAndGet();
+        totalTemplatedStartupMillis.addAndGet(startupMillis);
+        logger.info("⏱️ Session started from profile template in {} ms (empty profile reference: {} ms)",
+                startupMillis, emptyProfileStartupMillis);
+    }
+
+    /**
+     * Delete the cloned profile of a session that has quit
+     */
+    static void releaseSession(WebDriver driver) {
+        Path profile = sessionProfiles.remove(driver);
+        if (profile != null) {
+            clones.remove(profile);
+            deleteQuietly(profile);
+        }
+    }
+
+    /**
+     * Log startup numbers with and without the template and delete all profiles
+     */
+    static void shutdown() {
+        if (!templates.isEmpty()) {
+            long sessions = templatedSessions.get();
+            logger.info("📊 Profile template - Empty profile: startup {} ms, first app load {} ms | " +
+                            "Template: {} sessions, avg clone {} ms, avg startup {} ms, app load with warm profile {} ms",
+                    emptyProfileStartupMillis, emptyProfileFirstLoadMillis, sessions,
+                    sessions == 0 ? 0 : totalCloneMillis.get() / sessions,
+                    sessions == 0 ? 0 : totalTemplatedStartupMillis.get() / sessions,
+                    warmProfileLoadMillis);
+        }
+
+        clones.forEach(BrowserProfileTemplate::deleteQuietly);
+        clones.clear();
+        templates.values().stream()
+                .filter(build -> build.isDone() && !build.isCompletedExceptionally())
+                .forEach(build -> deleteQuietly(build.join()));
+        templates.clear();
+    }
+
+    private static Path buildTemplate(boolean headless) {
+        logger.info("🏗️ Building Chrome profile template (headless: {})...", headless);
+        long buildStart = System.currentTimeMillis();
+
+        Path template;
+        try {
+            template = Files.createTempDirectory("autoteam-profile-template-");
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create profile template directory", e);
+        }
+
+        ChromeOptions options = DriverManager.buildChromeOptions(headless);
+        options.addArguments("--user-data-dir=" + template);
+
+        ChromeDriverService service = DriverServiceRegistry.getChromeService();
+        WebDriver driver = null;
+        try {
+            long start = System.currentTimeMillis();
+            driver = new ChromeDriver(service, options);
+            emptyProfileStartupMillis = System.currentTimeMillis() - start;
+            BrowserProcesses.findBrowserProcess(driver)
+                    .ifPresent(process -> ProcessRegistry.register(process, "chrome profile template browser"));
+            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(ConfigurationManager.getPageLoadTimeout()));
+
+            String endUserUrl = ConfigurationManager.getEndUserAppUrl();
+            emptyProfileFirstLoadMillis = visit(driver, endUserUrl);
+            visit(driver, ConfigurationManager.getBackofficeAppUrl());
+            // Revisit to measure what a session starting from the warmed profile pays
+            warmProfileLoadMillis = visit(driver, endUserUrl);
+        } catch (Exception e) {
+            deleteQuietly(template);
+            throw new RuntimeException("Could not build browser profile template", e);
+        } finally {
+            if (driver != null) {
+                try {
+                    driver.quit();
+                } catch (Exception e) {
+                    logger.warn("⚠️ Error quitting template session: {}", e.getMessage());
+                }
+            } else {
+                DriverServiceRegistry.abandonSession(service);
+            }
+        }
+
+        clearSessionState(template);
+
+        logger.info("✅ Profile template ready at {} in {} ms (empty profile startup {} ms, " +
+                        "first load {} ms, warm load {} ms)", template, System.currentTimeMillis() - buildStart,
+                emptyProfileStartupMillis, emptyProfileFirstLoadMillis, warmProfileLoadMillis);
+        return template;
+    }
+
+    /**
+     * Load a page, give its service worker a chance to install and return the load time
+     */
+    private static long visit(WebDriver driver, String url) {
+        long start = System.currentTimeMillis();
+        driver.get(url);
+        long loadMillis = System.currentTimeMillis() - start;
+
+        try {
+            ((JavascriptExecutor) driver).executeAsyncScript(
+                    "var done = arguments[arguments.length - 1];" +
+                    "if (!('serviceWorker' in navigator)) { done(false); return; }" +
+                    "setTimeout(function() { done(false); }, 10000);" +
+                    "navigator.serviceWorker.getRegistrations().then(function(registrations) {" +
+                    "  if (registrations.length === 0) { done(false); return; }" +
+                    "  navigator.serviceWorker.ready.then(function() { done(true); });" +
+                    "});");
+        } catch (Exception e) {
+            logger.debug("Service worker check failed on {}: {}", url, e.getMessage());
+        }
+
+        logger.info("🌐 Template visit to {} loaded in {} ms", url, loadMillis);
+        return loadMillis;
+    }
+
+    /**
+     * Remove the cookies and storage of the warm-up visits so that sessions do not start logged in
+     * or with another session's app state; caches and service workers are kept
+     */
+    private static void clearSessionState(Path template) {
+        try (Stream<Path> profiles = Files.list(template)) {
+            profiles.filter(Files::isDirectory).forEach(profile -> SESSION_STATE.forEach(name -> {
+                Path state = profile.resolve(name);
+                if (Files.isDirectory(state)) {
+                    deleteQuietly(state);
+                } else {
+                    try {
+                        Files.deleteIfExists(state);
+                    } catch (IOException e) {
+                        logger.warn("⚠️ Could not remove {} from profile template: {}", state, e.getMessage());
+                    }
+                }
+            }));
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not clear session state of profile template: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Clone with copy-on-write file copies, falling back to a regular copy where the filesystem
+     * has no reflinks
+     * @return true if cp succeeded, false if the caller should copy the profile itself
+     */
+    private static boolean reflinkProfile(Path source, Path target) {
+        try {
+            Process process = new ProcessBuilder("cp", "-R", "--reflink=auto", source + "/.", target.toString())
+                    .redirectErrorStream(true)
+                    .start();
+            String output = new String(process.getInputStream().readAllBytes());
+            if (process.waitFor() != 0) {
+                logger.debug("cp --reflink failed, copying instead: {}", output.trim());
+                deleteContents(target);
+                return false;
+            }
+            for (String lockFile : LOCK_FILES) {
+                try (Stream<Path> paths = Files.walk(target)) {
+                    paths.filter(path -> path.getFileName().toString().equals(lockFile)).forEach(path -> {
+                        try {
+                            Files.deleteIfExists(path);
+                        } catch (IOException e) {
+                            logger.debug("Could not delete {}: {}", path, e.getMessage());
+                        }
+                    });
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            logger.debug("cp --reflink unavailable, copying instead: {}", e.getMessage());
+            deleteContents(target);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            deleteContents(target);
+            return false;
+        }
+    }
+
+    private static void copyProfile(Path source, Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (!attrs.isRegularFile() || LOCK_FILES.contains(file.getFileName().toString())) {
+                    return FileVisitResult.CONTINUE;
+                }
+                Files.copy(file, target.resolve(source.relativize(file).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void deleteContents(Path directory) {
+        try (Stream<Path> children = Files.list(directory)) {
+            children.forEach(BrowserProfileTemplate::deleteQuietly);
+        } catch (IOException e) {
+            logger.debug("Could not empty {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    logger.debug("Could not delete {}: {}", path, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            logger.debug("Could not delete profile {}: {}", directory, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.carservice.automation.base;
+
+import com.carservice.automation.utils.ConfigurationManager;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves driver binaries once per process and remembers them in a local manifest.
+ *
+ * The first resolution for a browser goes through WebDriverManager and records the driver path,
+ * driver version, browser path and browser version in driver-manifest.properties under the
+ * framework cache directory. Later sessions in the same JVM reuse the in-memory result, and later
+ * runs reuse the manifest without any WebDriverManager lookup (so they work offline) as long as
+ * the driver file still exists and the installed browser still matches the recorded one.
+ */
+public class DriverBinaryResolver {
+
+    private static final Logger logger = LogManager.getLogger(DriverBinaryResolver.class);
+
+    private static final String MANIFEST_FILE = "driver-manifest.properties";
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(\\d+(?:\\.\\d+)+)");
+
+    private static final Map<String, ResolvedDriver> resolvedDrivers = new ConcurrentHashMap<>();
+
+    /**
+     * Resolve the driver binary for a browser and expose it through the matching
+     * webdriver.*.driver system property
+     * @param browser Browser name (chrome, firefox, edge)
+     * @return Absolute path of the driver executable
+     */
+    public static String resolve(String browser) {
+        String key = browser.toLowerCase().trim();
+        ResolvedDriver resolved = resolvedDrivers.computeIfAbsent(key, DriverBinaryResolver::resolveOnce);
+        System.setProperty(getDriverSystemProperty(key), resolved.driverPath);
+        return resolved.driverPath;
+    }
+
+    /**
+     * Get the browser executable recorded for a browser, resolving the driver first if needed
+     * @param browser Browser name (chrome, firefox, edge)
+     * @return Browser executable path, or null if it could not be detected
+     */
+    public static String getBrowserPath(String browser) {
+        resolve(browser);
+        return resolvedDrivers.get(browser.toLowerCase().trim()).browserPath;
+    }
+
+    private static ResolvedDriver resolveOnce(String browser) {
+        long start = System.currentTimeMillis();
+
+        if (ConfigurationManager.getBooleanProperty("driver.manifest.enabled", true)) {
+            ResolvedDriver cached = readFromManifest(browser);
+            if (cached != null) {
+                logger.info("📒 Using {} driver {} from manifest ({} ms, no WebDriverManager lookup)",
+                        browser, cached.driverVersion, System.currentTimeMillis() - start);
+                return cached;
+            }
+        }
+
+        logger.info("📥 Resolving {} driver with WebDriverManager...", browser);
+        WebDriverManager manager = getWebDriverManager(browser);
+        manager.setup();
+
+        ResolvedDriver resolved = new ResolvedDriver();
+        resolved.driverPath = manager.getDownloadedDriverPath();
+        resolved.driverVersion = manager.getDownloadedDriverVersion();
+        resolved.browserPath = manager.getBrowserPath().map(Path::toString).orElse(null);
+        resolved.browserVersion = detectBrowserVersion(resolved.browserPath);
+        resolved.browserFingerprint = fingerprint(resolved.browserPath);
+
+        logger.info("✅ Resolved {} driver {} at {} for browser {} ({} ms)", browser, resolved.driverVersion,
+                resolved.driverPath, resolved.browserVersion, System.currentTimeMillis() - start);
+
+        if (ConfigurationManager.getBooleanProperty("driver.manifest.enabled", true)) {
+            writeToManifest(browser, resolved);
+        }
+        return resolved;
+    }
+
+    private static ResolvedDriver readFromManifest(String browser) {
+        Properties manifest = loadManifest();
+        String driverPath = manifest.getProperty(browser + ".driver.path");
+        if (driverPath == null) {
+            logger.info("📒 No manifest entry for {}", browser);
+            return null;
+        }
+
+        if (!Files.isExecutable(Paths.get(driverPath))) {
+            logger.info("📒 Manifest driver for {} no longer exists: {}", browser, driverPath);
+            return null;
+        }
+
+        String browserPath = manifest.getProperty(browser + ".browser.path");
+        if (browserPath == null || !Files.exists(Paths.get(browserPath))) {
+            logger.info("📒 Manifest browser for {} no longer exists: {}", browser, browserPath);
+            return null;
+        }
+
+        // Prefer the browser's own version; fall back to the binary fingerprint where the
+        // browser cannot report it (e.g. Windows builds ignore --version)
+        String recordedVersion = manifest.getProperty(browser + ".browser.version");
+        String installedVersion = detectBrowserVersion(browserPath);
+        if (installedVersion != null || recordedVersion != null) {
+            if (installedVersion == null || !installedVersion.equals(recordedVersion)) {
+                logger.info("📒 Installed {} version {} does not match manifest version {}",
+                        browser, installedVersion, recordedVersion);
+                return null;
+            }
+        } else if (!fingerprint(browserPath).equals(manifest.getProperty(browser + ".browser.fingerprint"))) {
+            logger.info("📒 Installed {} binary changed since the manifest was written", browser);
+            return null;
+        }
+
+        ResolvedDriver resolved = new ResolvedDriver();
+        resolved.driverPath = driverPath;
+        resolved.driverVersion = manifest.getProperty(browser + ".driver.version");
+        resolved.browserPath = browserPath;
+        resolved.browserVersion = installedVersion;
+        resolved.browserFingerprint = manifest.getProperty(browser + ".browser.fingerprint");
+        return resolved;
+    }
+
+    private static synchronized void writeToManifest(String browser, ResolvedDriver resolved) {
+        if (resolved.driverPath == null) {
+            return;
+        }
+
+        try {
+            Properties manifest = loadManifest();
+            manifest.setProperty(browser + ".driver.path", resolved.driverPath);
+            setIfPresent(manifest, browser + ".driver.version", resolved.driverVersion);
+            setIfPresent(manifest, browser + ".browser.path", resolved.browserPath);
+            setIfPresent(manifest, browser + ".browser.version", resolved.browserVersion);
+            setIfPresent(manifest, browser + ".browser.fingerprint", resolved.browserFingerprint);
+            manifest.setProperty(browser + ".resolved.at", Instant.now().toString());
+
+            Path manifestPath = getManifestPath();
+            Files.createDirectories(manifestPath.getParent());
+            Path tempFile = Files.createTempFile(manifestPath.getParent(), MANIFEST_FILE, ".tmp");
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                manifest.store(out, "Resolved WebDriver binaries - safe to delete");
+            }
+            Files.move(tempFile, manifestPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("📝 Driver manifest updated: {}", manifestPath);
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not write driver manifest: {}", e.getMessage());
+        }
+    }
+
+    private static Properties loadManifest() {
+        Properties manifest = new Properties();
+        Path manifestPath = getManifestPath();
+        if (Files.exists(manifestPath)) {
+            try (InputStream in = Files.newInputStream(manifestPath)) {
+                manifest.load(in);
+            } catch (IOException e) {
+                logger.warn("⚠️ Could not read driver manifest {}: {}", manifestPath, e.getMessage());
+            }
+        }
+        return manifest;
+    }
+
+    private static Path getManifestPath() {
+        return ConfigurationManager.getFrameworkCacheDir().resolve(MANIFEST_FILE);
+    }
+
+    /**
+     * Ask the browser binary for its version, without any network access
+     */
+    private static String detectBrowserVersion(String browserPath) {
+        if (browserPath == null || System.getProperty("os.name", "").toLowerCase().contains("win")) {
+            return null;
+        }
+
+        try {
+            Process process = new ProcessBuilder(browserPath, "--version").redirectErrorStream(true).start();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return null;
+            }
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            Matcher matcher = VERSION_PATTERN.matcher(output);
+            return matcher.find() ? matcher.group(1) : null;
+        } catch (IOException e) {
+            logger.debug("Could not read browser version from {}: {}", browserPath, e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static String fingerprint(String browserPath) {
+        if (browserPath == null) {
+            return "";
+        }
+        try {
+            Path realPath = Paths.get(browserPath).toRealPath();
+            return Files.size(realPath) + ":" + Files.getLastModifiedTime(realPath).toMillis();
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private static void setIfPresent(Properties properties, String key, String value) {
+        if (value != null) {
+            properties.setProperty(key, value);
+        } else {
+            properties.remove(key);
+        }
+    }
+
+    private static WebDriverManager getWebDriverManager(String browser) {
+        switch (browser) {
+            case "chrome":
+                return WebDriverManager.chromedriver();
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            case "edge":
+                return WebDriverManager.edgedriver();
+            default:
+                throw new IllegalArgumentException("Browser not supported: " + browser);
+        }
+    }
+
+    private static String getDriverSystemProperty(String browser) {
+        switch (browser) {
+            case "chrome":
+                return "webdriver.chrome.driver";
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            default:
+                throw new IllegalArgumentException("Browser not supported: " + browser);
+        }
+    }
+
+    /**
+     * Result of a driver resolution
+     */
+    private static class ResolvedDriver {
+        private String driverPath;
+        private String driverVersion;
+        private String browserPath;
+        private String browserVersion;
+        private String browserFingerprint;
+    }
+}
@@ -1,22 +1,55 @@
 package com.carservice.automation.base;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.carservice.automation.utils.ConfigurationManager;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class DriverManager {
 
     private static final Logger logger = LogManager.getLogger(DriverManager.class);
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<PendingDriver> pendingDriverThreadLocal = new ThreadLocal<>();
+
+    // Background bootstrap threads keep their driver services alive, so let them idle for a while
+    private static final ExecutorService bootstrapExecutor = new ThreadPoolExecutor(
+            0, Integer.MAX_VALUE, 30, TimeUnit.MINUTES, new SynchronousQueue<>(), new ThreadFactory() {
+                private final AtomicInteger counter = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "driver-bootstrap-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverManager::shutdown, "driver-manager-shutdown"));
+        ProcessRegistry.sweepPreviousRuns();
+    }
 
     /**
      * Initialize WebDriver based on browser parameter
@@ -33,57 +66,9 @@ public class DriverManager {
 
         try {
             // Check if driver already exists for this thread
-            WebDriver existingDriver = driverThreadLocal.get();
-            if (existingDriver != null) {
-                logger.warn("⚠️ Driver already exists for this thread, quitting old driver first");
-                try {
-                    existingDriver.quit();
-                } catch (Exception e) {
-                    logger.warn("⚠️ Error quitting existing driver: {}", e.getMessage());
-                }
-                driverThreadLocal.remove();
-            }
-
-            logger.info("🔧 Starting driver initialization for browser: {}", browser.toLowerCase());
-
-            switch (browser.toLowerCase().trim()) {
-                case "chrome":
-                    driver = initializeChromeDriver(headless);
-                    break;
-
-                case "firefox":
-                    driver = initializeFirefoxDriver(headless);
-                    break;
+            releaseExistingDriver();
 
-                case "edge":
-                    driver = initializeEdgeDriver(headless);
-                    break;
-
-                default:
-                    String errorMsg = "Browser not supported: " + browser + ". Supported: chrome, firefox, edge";
-                    logger.error("❌ {}", errorMsg);
-                    throw new IllegalArgumentException(errorMsg);
-            }
-
-            if (driver == null) {
-                String errorMsg = "Driver initialization returned null for browser: " + browser;
-                logger.error("❌ {}", errorMsg);
-                throw new RuntimeException(errorMsg);
-            }
-
-            // Configure timeouts
-            logger.info("⏱️ Setting timeouts...");
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
-            driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(30));
-
-            // Maximize window (skip if headless)
-            if (!headless) {
-                logger.info("🖥️ Maximizing window...");
-                driver.manage().window().maximize();
-            } else {
-                logger.info("🔇 Skipping window maximize (headless mode)");
-            }
+            driver = acquireDriver(browser, headless);
 
             // Store driver in ThreadLocal for parallel execution
             driverThreadLocal.set(driver);
@@ -108,7 +93,7 @@ public class DriverManager {
             // Cleanup on failure
             if (driver != null) {
                 try {
-                    driver.quit();
+                    releaseOrQuit(driver);
                 } catch (Exception quitEx) {
                     logger.warn("⚠️ Error during cleanup: {}", quitEx.getMessage());
                 }
@@ -122,6 +107,266 @@ public class DriverManager {
         return driver;
     }
 
+    /**
+     * Start the browser for the current thread in the background and return immediately.
+     * The first call to {@link #getDriver()} on this thread blocks until the browser is ready.
+     * @param browser Browser name (chrome, firefox, edge)
+     * @param headless Run in headless mode
+     */
+    public static void initializeDriverAsync(String browser, boolean headless) {
+        logger.info("🚀 DriverManager.initializeDriverAsync() called");
+        logger.info("📋 Parameters - Browser: '{}', Headless: {}", browser, headless);
+
+        releaseExistingDriver();
+
+        Future<WebDriver> future = bootstrapExecutor.submit(() -> acquireDriver(browser, headless));
+        pendingDriverThreadLocal.set(new PendingDriver(browser, future));
+        logger.info("⏳ Browser startup scheduled in background for thread: {}", Thread.currentThread().getName());
+    }
+
+    /**
+     * Lease a pooled session or create a new one, depending on configuration
+     */
+    private static WebDriver acquireDriver(String browser, boolean headless) {
+        // Read first: a misspelt profile name fails here, before a browser is launched or leased
+        RequestBlockingProfile blockingProfile = NetworkRequestBlocker.getConfiguredProfile();
+
+        WebDriver driver;
+        if (SharedBrowserHost.isEnabled() && "chrome".equalsIgnoreCase(browser.trim())) {
+            // Contexts are disposed on release, so they are never pooled
+            logger.info("🧩 Shared browser mode enabled, opening an isolated browser context");
+            driver = SharedBrowserHost.openContext(headless);
+            try {
+                applyDefaultTimeouts(driver);
+                if (!headless) {
+                    driver.manage().window().maximize();
+                }
+            } catch (RuntimeException e) {
+                quitSession(driver);
+                throw e;
+            }
+            SessionWatchdog.register(driver);
+        } else if (DriverPool.isEnabled()) {
+            logger.info("🏊 Pooled mode enabled, leasing {} session", browser.toLowerCase());
+            driver = DriverPool.forBrowser(browser, headless).lease();
+        } else {
+            driver = createDriver(browser, headless);
+        }
+
+        // Re-applied on every lease since pooled sessions get a fresh window when scrubbed
+        try {
+            NetworkRequestBlocker.apply(driver, blockingProfile);
+        } catch (RuntimeException e) {
+            releaseOrQuit(driver);
+            throw e;
+        }
+        return driver;
+    }
+
+    /**
+     * Release the driver (or pending background startup) already owned by this thread
+     */
+    private static void releaseExistingDriver() {
+        WebDriver existingDriver = driverThreadLocal.get();
+        if (existingDriver == null && pendingDriverThreadLocal.get() != null) {
+            try {
+                existingDriver = awaitPendingDriver();
+            } catch (Exception e) {
+                logger.warn("⚠️ Previous background browser startup failed: {}", e.getMessage());
+            }
+        }
+
+        if (existingDriver != null) {
+            logger.warn("⚠️ Driver already exists for this thread, releasing old driver first");
+            try {
+                releaseOrQuit(existingDriver);
+            } catch (Exception e) {
+                logger.warn("⚠️ Error releasing existing driver: {}", e.getMessage());
+            }
+            driverThreadLocal.remove();
+        }
+    }
+
+    /**
+     * Block until the background startup for this thread completes and store its driver
+     */
+    private static WebDriver awaitPendingDriver() {
+        PendingDriver pending = pendingDriverThreadLocal.get();
+        pendingDriverThreadLocal.remove();
+
+        long waitStart = System.currentTimeMillis();
+        try {
+            WebDriver driver = pending.future.get();
+            long waited = System.currentTimeMillis() - waitStart;
+            long overlapped = waitStart - pending.submittedAt;
+            driverThreadLocal.set(driver);
+            logger.info("⏱️ Background browser ready - blocked {} ms at first use, {} ms of startup overlapped setup work",
+                    waited, overlapped);
+            return driver;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.future.cancel(true);
+            throw new RuntimeException("Interrupted while waiting for browser startup: " + pending.browser, e);
+        } catch (ExecutionException e) {
+            logger.error("💥 Background initialization failed for browser '{}': {}",
+                    pending.browser, e.getCause().getMessage());
+            throw new RuntimeException("Driver initialization failed for browser: " + pending.browser, e.getCause());
+        }
+    }
+
+    /**
+     * Create a brand-new WebDriver session with default timeouts applied
+     * @param browser Browser name (chrome, firefox, edge)
+     * @param headless Run in headless mode
+     * @return WebDriver instance
+     */
+    static WebDriver createDriver(String browser, boolean headless) {
+        logger.info("🔧 Starting driver initialization for browser: {}", browser.toLowerCase());
+
+        WebDriver driver;
+        switch (browser.toLowerCase().trim()) {
+            case "chrome":
+                driver = initializeChromeDriver(headless);
+                break;
+
+            case "firefox":
+                driver = initializeFirefoxDriver(headless);
+                break;
+
+            case "edge":
+                driver = initializeEdgeDriver(headless);
+                break;
+
+            default:
+                String errorMsg = "Browser not supported: " + browser + ". Supported: chrome, firefox, edge";
+                logger.error("❌ {}", errorMsg);
+                throw new IllegalArgumentException(errorMsg);
+        }
+
+        if (driver == null) {
+            String errorMsg = "Driver initialization returned null for browser: " + browser;
+            logger.error("❌ {}", errorMsg);
+            throw new RuntimeException(errorMsg);
+        }
+
+        try {
+            applyDefaultTimeouts(driver);
+
+            // Maximize window (skip if headless)
+            if (!headless) {
+                logger.info("🖥️ Maximizing window...");
+                driver.manage().window().maximize();
+            } else {
+                logger.info("🔇 Skipping window maximize (headless mode)");
+            }
+        } catch (RuntimeException e) {
+            quitSession(driver);
+            throw e;
+        }
+
+        BrowserProcesses.findBrowserProcess(driver)
+                .ifPresent(process -> ProcessRegistry.register(process, browser.toLowerCase().trim() + " browser"));
+        SessionWatchdog.register(driver);
+        return driver;
+    }
+
+    /**
+     * Apply the framework default timeouts to a session
+     * In strict wait mode the implicit wait is zero so only explicit waits block
+     * @param driver WebDriver instance
+     */
+    static void applyDefaultTimeouts(WebDriver driver) {
+        logger.info("⏱️ Setting timeouts...");
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigurationManager.isStrictWaitMode() ? 0 : 10));
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+        driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(30));
+    }
+
+    /**
+     * Return a driver to its pool, or quit it when it was created outside the pool
+     */
+    private static void releaseOrQuit(WebDriver driver) {
+        if (!DriverPool.releaseIfPooled(driver)) {
+            quitSession(driver);
+        }
+    }
+
+    /**
+     * Quit a session and free the per-session resources DriverManager set up for it
+     * @param driver WebDriver instance
+     */
+    static void quitSession(WebDriver driver) {
+        try {
+            SharedBrowserHost.closeContext(driver);
+            driver.quit();
+        } finally {
+            SessionWatchdog.unregister(driver);
+            BrowserProfileTemplate.releaseSession(driver);
+        }
+    }
+
+    /**
+     * Release JVM-wide driver resources, called once from the shutdown hook
+     */
+    private static void shutdown() {
+        bootstrapExecutor.shutdownNow();
+        SessionWatchdog.shutdown();
+        try {
+            DriverPool.shutdownAll();
+        } catch (Exception e) {
+            logger.warn("⚠️ Error while shutting down driver pools: {}", e.getMessage());
+        }
+        DriverServiceRegistry.stopAll();
+        NetworkRequestBlocker.logStatistics();
+        BrowserProfileTemplate.shutdown();
+        SharedBrowserHost.shutdown();
+        ProcessRegistry.reapAll();
+    }
+
+    /**
+     * Build the Chrome options used for every Chrome session
+     * @param headless Run in headless mode
+     * @return ChromeOptions instance
+     */
+    static ChromeOptions buildChromeOptions(boolean headless) {
+        ChromeOptions chromeOptions = new ChromeOptions();
+        chromeOptions.addArguments(getChromeArguments(headless));
+
+        // Additional stability options
+        chromeOptions.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
+        chromeOptions.setExperimentalOption("useAutomationExtension", false);
+
+        if (headless) {
+            logger.info("🔇 Chrome headless mode enabled");
+        }
+        return chromeOptions;
+    }
+
+    /**
+     * Get the Chrome command-line switches used for every Chrome session
+     * @param headless Run in headless mode
+     * @return List of switches
+     */
+    public static List<String> getChromeArguments(boolean headless) {
+        List<String> arguments = new ArrayList<>();
+        arguments.add("--disable-notifications");
+        arguments.add("--disable-popup-blocking");
+        arguments.add("--disable-dev-shm-usage");
+        arguments.add("--no-sandbox");
+        arguments.add("--disable-extensions");
+        arguments.add("--disable-gpu");
+        arguments.add("--remote-allow-origins=*");
+
+        // Additional stability options
+        arguments.add("--disable-blink-features=AutomationControlled");
+
+        if (headless) {
+            arguments.add("--headless");
+            arguments.add("--window-size=1920,1080");
+        }
+        return arguments;
+    }
+
     /**
      * Initialize Chrome WebDriver with detailed logging
      */
@@ -129,33 +374,36 @@ public class DriverManager {
         logger.info("🔧 Initializing ChromeDriver...");
 
         try {
-            logger.info("📥 Setting up ChromeDriver with WebDriverManager...");
-            WebDriverManager.chromedriver().setup();
-            logger.info("✅ WebDriverManager setup completed for Chrome");
+            logger.info("📥 Resolving ChromeDriver binary...");
+            String driverPath = DriverBinaryResolver.resolve("chrome");
+            logger.info("✅ ChromeDriver binary: {}", driverPath);
 
             logger.info("⚙️ Configuring Chrome options...");
-            ChromeOptions chromeOptions = new ChromeOptions();
-            chromeOptions.addArguments("--disable-notifications");
-            chromeOptions.addArguments("--disable-popup-blocking");
-            chromeOptions.addArguments("--disable-dev-shm-usage");
-            chromeOptions.addArguments("--no-sandbox");
-            chromeOptions.addArguments("--disable-extensions");
-            chromeOptions.addArguments("--disable-gpu");
-            chromeOptions.addArguments("--remote-allow-origins=*");
-
-            // Additional stability options
-            chromeOptions.addArguments("--disable-blink-features=AutomationControlled");
-            chromeOptions.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
-            chromeOptions.setExperimentalOption("useAutomationExtension", false);
-
-            if (headless) {
-                chromeOptions.addArguments("--headless");
-                chromeOptions.addArguments("--window-size=1920,1080");
-                logger.info("🔇 Chrome headless mode enabled");
+            ChromeOptions chromeOptions = buildChromeOptions(headless);
+
+            Path profileDir = null;
+            if (BrowserProfileTemplate.isEnabled()) {
+                // Null when the template could not be built or cloned; Chrome then uses its usual empty profile
+                profileDir = BrowserProfileTemplate.cloneForSession(headless);
+                if (profileDir != null) {
+                    chromeOptions.addArguments("--user-data-dir=" + profileDir);
+                }
             }
 
             logger.info("🚀 Creating ChromeDriver instance...");
-            WebDriver chromeDriver = new ChromeDriver(chromeOptions);
+            ChromeDriverService service = DriverServiceRegistry.getChromeService();
+            WebDriver chromeDriver;
+            long start = System.currentTimeMillis();
+            try {
+                chromeDriver = new ChromeDriver(service, chromeOptions);
+            } catch (RuntimeException e) {
+                DriverServiceRegistry.abandonSession(service);
+                throw e;
+            }
+
+            if (profileDir != null) {
+                BrowserProfileTemplate.registerSession(chromeDriver, profileDir, System.currentTimeMillis() - start);
+            }
 
             logger.info("✅ ChromeDriver created successfully");
             return chromeDriver;
@@ -173,9 +421,9 @@ public class DriverManager {
         logger.info("🔧 Initializing FirefoxDriver...");
 
         try {
-            logger.info("📥 Setting up FirefoxDriver with WebDriverManager...");
-            WebDriverManager.firefoxdriver().setup();
-            logger.info("✅ WebDriverManager setup completed for Firefox");
+            logger.info("📥 Resolving FirefoxDriver binary...");
+            String driverPath = DriverBinaryResolver.resolve("firefox");
+            logger.info("✅ FirefoxDriver binary: {}", driverPath);
 
             FirefoxOptions firefoxOptions = new FirefoxOptions();
             if (headless) {
@@ -184,7 +432,14 @@ public class DriverManager {
             }
 
             logger.info("🚀 Creating FirefoxDriver instance...");
-            WebDriver firefoxDriver = new FirefoxDriver(firefoxOptions);
+            GeckoDriverService service = DriverServiceRegistry.getGeckoService();
+            WebDriver firefoxDriver;
+            try {
+                firefoxDriver = new FirefoxDriver(service, firefoxOptions);
+            } catch (RuntimeException e) {
+                DriverServiceRegistry.abandonSession(service);
+                throw e;
+            }
 
             logger.info("✅ FirefoxDriver created successfully");
             return firefoxDriver;
@@ -202,9 +457,9 @@ public class DriverManager {
         logger.info("🔧 Initializing EdgeDriver...");
 
         try {
-            logger.info("📥 Setting up EdgeDriver with WebDriverManager...");
-            WebDriverManager.edgedriver().setup();
-            logger.info("✅ WebDriverManager setup completed for Edge");
+            logger.info("📥 Resolving EdgeDriver binary...");
+            String driverPath = DriverBinaryResolver.resolve("edge");
+            logger.info("✅ EdgeDriver binary: {}", driverPath);
 
             EdgeOptions edgeOptions = new EdgeOptions();
             edgeOptions.addArguments("--disable-notifications");
@@ -219,7 +474,14 @@ public class DriverManager {
             }
 
             logger.info("🚀 Creating EdgeDriver instance...");
-            WebDriver edgeDriver = new EdgeDriver(edgeOptions);
+            EdgeDriverService service = DriverServiceRegistry.getEdgeService();
+            WebDriver edgeDriver;
+            try {
+                edgeDriver = new EdgeDriver(service, edgeOptions);
+            } catch (RuntimeException e) {
+                DriverServiceRegistry.abandonSession(service);
+                throw e;
+            }
 
             logger.info("✅ EdgeDriver created successfully");
             return edgeDriver;
@@ -236,6 +498,9 @@ public class DriverManager {
      */
     public static WebDriver getDriver() {
         WebDriver driver = driverThreadLocal.get();
+        if (driver == null && pendingDriverThreadLocal.get() != null) {
+            driver = awaitPendingDriver();
+        }
         if (driver == null) {
             String errorMsg = "Driver is null for thread: " + Thread.currentThread().getName() +
                     ". Make sure to initialize driver before use.";
@@ -247,16 +512,23 @@ public class DriverManager {
     }
 
     /**
-     * Quit the driver and remove from ThreadLocal
+     * Quit the driver (or return it to the pool in pooled mode) and remove from ThreadLocal
      */
     public static void quitDriver() {
         logger.info("🚫 DriverManager.quitDriver() called for thread: {}", Thread.currentThread().getName());
 
         WebDriver driver = driverThreadLocal.get();
+        if (driver == null && pendingDriverThreadLocal.get() != null) {
+            try {
+                driver = awaitPendingDriver();
+            } catch (Exception e) {
+                logger.warn("⚠️ Background browser startup failed, nothing to quit: {}", e.getMessage());
+            }
+        }
         if (driver != null) {
             try {
                 logger.info("🚫 Quitting driver...");
-                driver.quit();
+                releaseOrQuit(driver);
                 logger.info("✅ Driver quit successfully");
             } catch (Exception e) {
                 logger.warn("⚠️ Error while quitting driver: {}", e.getMessage());
@@ -292,7 +564,7 @@ public class DriverManager {
      * @return true if driver exists, false otherwise
      */
     public static boolean isDriverInitialized() {
-        boolean initialized = driverThreadLocal.get() != null;
+        boolean initialized = driverThreadLocal.get() != null || pendingDriverThreadLocal.get() != null;
         logger.debug("📊 Driver initialized check for thread {}: {}",
                 Thread.currentThread().getName(), initialized);
         return initialized;
@@ -404,7 +676,7 @@ public class DriverManager {
             WebDriver driver = getDriver();
             String currentWindow = driver.getWindowHandle();
 
-            for (String windowHandle : driver.getWindowHandles()) {
+            for (String windowHandle : SharedBrowserHost.getWindowHandles(driver)) {
                 driver.switchTo().window(windowHandle);
                 if (driver.getTitle().contains(windowTitle)) {
                     logger.info("🔄 Switched to window with title: {}", windowTitle);
@@ -429,7 +701,7 @@ public class DriverManager {
      */
     public static int getWindowCount() {
         try {
-            int count = getDriver().getWindowHandles().size();
+            int count = SharedBrowserHost.getWindowHandles(getDriver()).size();
             logger.debug("📊 Number of open windows: {}", count);
             return count;
         } catch (Exception e) {
@@ -437,4 +709,18 @@ public class DriverManager {
             return 0;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Browser startup running on the bootstrap executor
+     */
+    private static class PendingDriver {
+        private final String browser;
+        private final Future<WebDriver> future;
+        private final long submittedAt = System.currentTimeMillis();
+
+        private PendingDriver(String browser, Future<WebDriver> future) {
+            this.browser = browser;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package com.carservice.automation.base;
+
+import com.carservice.automation.utils.ConfigurationManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Pool of pre-started WebDriver sessions leased to tests and scenarios.
+ *
+ * Sessions are created in the background as soon as the pool for a browser is first used,
+ * handed out by {@link #lease()} and returned by {@link #release(WebDriver)}. On release a
+ * session is scrubbed (cookies, storage, extra windows) and goes back to the idle queue until
+ * it reaches its maximum number of reuses, at which point it is quit and replaced.
+ *
+ * Enabled with driver.pool.enabled=true; see config.properties for the other settings.
+ */
+public class DriverPool {
+
+    private static final Logger logger = LogManager.getLogger(DriverPool.class);
+    private static final Map<String, DriverPool> pools = new ConcurrentHashMap<>();
+
+    private final String browser;
+    private final boolean headless;
+    private final int size;
+    private final int maxReuses;
+    private final long leaseTimeoutSeconds;
+
+    private final BlockingQueue<PooledSession> idleSessions = new LinkedBlockingQueue<>();
+    private final Map<WebDriver, PooledSession> leasedSessions = new ConcurrentHashMap<>();
+    private final Semaphore capacity;
+    private final ExecutorService warmer;
+
+    // Lease metrics
+    private final AtomicLong leaseCount = new AtomicLong();
+    private final AtomicLong warmLeaseCount = new AtomicLong();
+    private final AtomicLong totalLeaseWaitMillis = new AtomicLong();
+    private final AtomicLong maxLeaseWaitMillis = new AtomicLong();
+    private final AtomicLong sessionsCreated = new AtomicLong();
+    private final AtomicLong sessionsRetired = new AtomicLong();
+    private final AtomicLong scrubFailures = new AtomicLong();
+
+    private volatile boolean shutdown;
+
+    private DriverPool(String browser, boolean headless) {
+        this.browser = browser;
+        this.headless = headless;
+        this.size = Math.max(1, ConfigurationManager.getIntProperty("driver.pool.size", 2));
+        this.maxReuses = Math.max(1, ConfigurationManager.getIntProperty("driver.pool.max.reuses", 10));
+        this.leaseTimeoutSeconds = ConfigurationManager.getIntProperty("driver.pool.lease.timeout", 120);
+        this.capacity = new Semaphore(size);
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.warmer = Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "driver-pool-" + browser + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        logger.info("🏊 Driver pool created - Browser: {}, Headless: {}, Size: {}, Max reuses: {}",
+                browser, headless, size, maxReuses);
+        for (int i = 0; i < size; i++) {
+            warmer.submit(this::warmUpSession);
+        }
+    }
+
+    /**
+     * Check whether pooled mode is enabled in configuration
+     * @return true if driver.pool.enabled is set
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(
+                ConfigurationManager.getSystemPropertyOrConfig("driver.pool.enabled", "driver.pool.enabled", "false"));
+    }
+
+    /**
+     * Get (or lazily create and warm) the pool for a browser configuration
+     * @param browser Browser name (chrome, firefox, edge)
+     * @param headless Run in headless mode
+     * @return DriverPool instance
+     */
+    public static DriverPool forBrowser(String browser, boolean headless) {
+        String key = browser.toLowerCase().trim() + (headless ? ":headless" : ":headed");
+        return pools.computeIfAbsent(key, k -> new DriverPool(browser.toLowerCase().trim(), headless));
+    }
+
+    /**
+     * Return a leased driver to the pool that owns it
+     * @param driver WebDriver instance
+     * @return true if the driver belonged to a pool, false otherwise
+     */
+    public static boolean releaseIfPooled(WebDriver driver) {
+        for (DriverPool pool : pools.values()) {
+            if (pool.leasedSessions.containsKey(driver)) {
+                pool.release(driver);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Run a check on a session only while it sits idle in its pool
+     * The session is taken out of the idle queue for the check, so it cannot be leased meanwhile,
+     * and is retired afterwards if the watchdog asked for it to be recycled
+     * @param driver WebDriver instance
+     * @param check Check to run on the idle session
+     * @return true if the session was idle and checked, false if it is leased or not pooled
+     */
+    static boolean checkIfIdle(WebDriver driver, Consumer<WebDriver> check) {
+        for (DriverPool pool : pools.values()) {
+            for (PooledSession session : pool.idleSessions) {
+                if (session.driver == driver && pool.idleSessions.remove(session)) {
+                    try {
+                        check.accept(driver);
+                    } finally {
+                        pool.returnChecked(session);
+                    }
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lease a warm session, blocking until one is available
+     * @return WebDriver instance scrubbed and ready for use
+     */
+    public WebDriver lease() {
+        if (shutdown) {
+            throw new IllegalStateException("Driver pool for " + browser + " has been shut down");
+        }
+
+        long start = System.currentTimeMillis();
+        PooledSession session = idleSessions.poll();
+        boolean warm = session != null;
+
+        try {
+            while (session == null || !session.isAlive()) {
+                if (session != null) {
+                    retire(session, "unhealthy while idle");
+                }
+
+                if (capacity.tryAcquire()) {
+                    logger.info("❄️ No idle {} session available, creating one on the calling thread", browser);
+                    session = createSession();
+                    warm = false;
+                } else {
+                    session = idleSessions.poll(leaseTimeoutSeconds, TimeUnit.SECONDS);
+                    if (session == null) {
+                        throw new RuntimeException("Timed out after " + leaseTimeoutSeconds +
+                                "s waiting for a pooled " + browser + " session. " + getStatistics());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a pooled " + browser + " session", e);
+        }
+
+        long waitMillis = System.currentTimeMillis() - start;
+        leaseCount.incrementAndGet();
+        if (warm) {
+            warmLeaseCount.incrementAndGet();
+        }
+        totalLeaseWaitMillis.addAndGet(waitMillis);
+        maxLeaseWaitMillis.accumulateAndGet(waitMillis, Math::max);
+
+        session.uses++;
+        leasedSessions.put(session.driver, session);
+        logger.info("🎟️ Leased {} session (use {}/{}) to thread {} after {} ms wait",
+                browser, session.uses, maxReuses, Thread.currentThread().getName(), waitMillis);
+        return session.driver;
+    }
+
+    /**
+     * Return a session to the pool, scrubbing it or retiring it when worn out
+     * @param driver WebDriver previously obtained from {@link #lease()}
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = leasedSessions.remove(driver);
+        if (session == null) {
+            logger.warn("⚠️ Driver was not leased from the {} pool, quitting it", browser);
+            quietlyQuit(driver);
+            return;
+        }
+
+        if (shutdown) {
+            retire(session, "pool shut down");
+            return;
+        }
+
+        String recycleReason = SessionWatchdog.getRecycleReason(driver);
+        if (recycleReason != null) {
+            retire(session, "watchdog - " + recycleReason);
+            warmer.submit(this::warmUpSession);
+            return;
+        }
+
+        if (session.uses >= maxReuses) {
+            retire(session, "reached max reuses (" + maxReuses + ")");
+            warmer.submit(this::warmUpSession);
+            return;
+        }
+
+        if (!scrub(session.driver)) {
+            scrubFailures.incrementAndGet();
+            retire(session, "scrub failed");
+            warmer.submit(this::warmUpSession);
+            return;
+        }
+
+        idleSessions.offer(session);
+        logger.info("♻️ {} session returned to pool ({} idle)", browser, idleSessions.size());
+    }
+
+    /**
+     * Quit every session owned by this pool
+     */
+    public void shutdown() {
+        shutdown = true;
+        warmer.shutdownNow();
+
+        List<PooledSession> sessions = new ArrayList<>(leasedSessions.values());
+        leasedSessions.clear();
+        idleSessions.drainTo(sessions);
+        for (PooledSession session : sessions) {
+            retire(session, "pool shut down");
+        }
+        logger.info("📊 {}", getStatistics());
+    }
+
+    /**
+     * Shut down all pools, called from the DriverManager shutdown hook
+     */
+    static void shutdownAll() {
+        pools.values().forEach(DriverPool::shutdown);
+        pools.clear();
+    }
+
+    /**
+     * Get lease metrics as a single log-friendly line
+     */
+    public String getStatistics() {
+        long leases = leaseCount.get();
+        long averageWait = leases == 0 ? 0 : totalLeaseWaitMillis.get() / leases;
+        return String.format("Driver pool [%s%s] - Leases: %d (warm: %d), Avg lease wait: %d ms, " +
+                        "Max lease wait: %d ms, Sessions created: %d, Retired: %d, Scrub failures: %d",
+                browser, headless ? ", headless" : "", leases, warmLeaseCount.get(), averageWait,
+                maxLeaseWaitMillis.get(), sessionsCreated.get(), sessionsRetired.get(), scrubFailures.get());
+    }
+
+    private void returnChecked(PooledSession session) {
+        String recycleReason = SessionWatchdog.getRecycleReason(session.driver);
+        if (shutdown) {
+            retire(session, "pool shut down");
+        } else if (recycleReason != null) {
+            retire(session, "watchdog - " + recycleReason);
+            warmer.submit(this::warmUpSession);
+        } else {
+            idleSessions.offer(session);
+        }
+    }
+
+    private void warmUpSession() {
+        if (shutdown || !capacity.tryAcquire()) {
+            return;
+        }
+        try {
+            idleSessions.offer(createSession());
+            logger.info("🔥 Warm {} session ready ({} idle)", browser, idleSessions.size());
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to pre-start {} session: {}", browser, e.getMessage());
+        }
+    }
+
+    /**
+     * Create a session against the pool's capacity; the caller must already hold a permit
+     */
+    private PooledSession createSession() {
+        try {
+            WebDriver driver = DriverManager.createDriver(browser, headless);
+            sessionsCreated.incrementAndGet();
+            return new PooledSession(driver);
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    private void retire(PooledSession session, String reason) {
+        logger.info("🪦 Retiring {} session after {} use(s): {}", browser, session.uses, reason);
+        quietlyQuit(session.driver);
+        sessionsRetired.incrementAndGet();
+        capacity.release();
+    }
+
+    /**
+     * Remove cookies, storage and extra windows so the next lease starts clean
+     */
+    private boolean scrub(WebDriver driver) {
+        try {
+            clearCookiesAndStorage(driver);
+
+            // A fresh tab also drops sessionStorage, which is scoped to the tab
+            String originalWindow = driver.getWindowHandle();
+            Set<String> oldWindows = driver.getWindowHandles();
+            driver.switchTo().window(originalWindow);
+            driver.switchTo().newWindow(WindowType.TAB);
+            String cleanWindow = driver.getWindowHandle();
+            for (String handle : oldWindows) {
+                driver.switchTo().window(handle);
+                driver.close();
+            }
+            driver.switchTo().window(cleanWindow);
+
+            DriverManager.applyDefaultTimeouts(driver);
+            return true;
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to scrub {} session: {}", browser, e.getMessage());
+            return false;
+        }
+    }
+
+    private void clearCookiesAndStorage(WebDriver driver) {
+        Set<String> origins = getApplicationOrigins(driver);
+
+        if (driver instanceof ChromiumDriver) {
+            // Chromium can clear every origin from the browser side without navigating
+            ChromiumDriver chromiumDriver = (ChromiumDriver) driver;
+            chromiumDriver.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            for (String origin : origins) {
+                chromiumDriver.executeCdpCommand("Storage.clearDataForOrigin",
+                        Map.of("origin", origin, "storageTypes", "all"));
+            }
+            return;
+        }
+
+        // Other browsers only expose cookies/storage of the current document, so visit each origin
+        for (String origin : origins) {
+            driver.get(origin + "/favicon.ico");
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+        }
+    }
+
+    private Set<String> getApplicationOrigins(WebDriver driver) {
+        Set<String> origins = new LinkedHashSet<>();
+        addOrigin(origins, ConfigurationManager.getProperty("enduser.app.url", ""));
+        addOrigin(origins, ConfigurationManager.getProperty("backoffice.app.url", ""));
+        try {
+            addOrigin(origins, driver.getCurrentUrl());
+        } catch (Exception e) {
+            logger.debug("Could not read current URL while scrubbing: {}", e.getMessage());
+        }
+        return origins;
+    }
+
+    private static void addOrigin(Set<String> origins, String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getScheme() != null && uri.getScheme().startsWith("http") && uri.getHost() != null) {
+                origins.add(uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort()));
+            }
+        } catch (IllegalArgumentException e) {
+            logger.debug("Ignoring unparsable URL while scrubbing: {}", url);
+        }
+    }
+
+    private void quietlyQuit(WebDriver driver) {
+        try {
+            DriverManager.quitSession(driver);
+        } catch (Exception e) {
+            logger.warn("⚠️ Error while quitting pooled {} session: {}", browser, e.getMessage());
+        }
+    }
+
+    /**
+     * A pooled driver together with its reuse counter
+     */
+    private static class PooledSession {
+        private final WebDriver driver;
+        private int uses;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        private boolean isAlive() {
+            if (SessionWatchdog.getRecycleReason(driver) != null) {
+                return false;
+            }
+            try {
+                driver.getWindowHandle();
+                return true;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+}
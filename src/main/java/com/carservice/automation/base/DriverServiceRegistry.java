@@ -0,0 +1,282 @@
+package com.carservice.automation.base;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Long-lived driver services (chromedriver, msedgedriver, geckodriver), one set per worker thread.
+ *
+ * Selenium stops the driver service whenever a session quits, so the services handed out here
+ * ignore stop() until the JVM shuts down; sessions are then created against an already running
+ * driver process instead of spawning a new one every time.
+ *
+ * chromedriver and msedgedriver accept several sessions per process. geckodriver only hosts one
+ * session at a time, so a thread gets an extra geckodriver only while its first one is busy.
+ */
+public class DriverServiceRegistry {
+
+    private static final Logger logger = LogManager.getLogger(DriverServiceRegistry.class);
+
+    private static final ThreadLocal<Map<String, List<SharedService<?>>>> threadServices =
+            ThreadLocal.withInitial(HashMap::new);
+    private static final List<SharedService<?>> allServices = new CopyOnWriteArrayList<>();
+
+    private static final AtomicLong sessionsOnReusedService = new AtomicLong();
+    private static final AtomicLong startupMillisSaved = new AtomicLong();
+
+    private static volatile boolean shuttingDown;
+
+    /**
+     * Get the current thread's chromedriver service, starting it on first use
+     * @return running ChromeDriverService
+     */
+    public static ChromeDriverService getChromeService() {
+        return acquire("chromedriver", true, DriverServiceRegistry::buildChromeService);
+    }
+
+    /**
+     * Get the current thread's msedgedriver service, starting it on first use
+     * @return running EdgeDriverService
+     */
+    public static EdgeDriverService getEdgeService() {
+        return acquire("msedgedriver", true, DriverServiceRegistry::buildEdgeService);
+    }
+
+    /**
+     * Get an idle geckodriver service owned by the current thread, starting one if needed
+     * @return running GeckoDriverService
+     */
+    public static GeckoDriverService getGeckoService() {
+        return acquire("geckodriver", false, DriverServiceRegistry::buildGeckoService);
+    }
+
+    /**
+     * Release the session slot taken by a session that failed to start
+     * Selenium already stops the service when the new-session command fails, which releases the
+     * slot; the service is only stopped here when the failure came before that point
+     * @param service Service returned by one of the getters
+     */
+    public static void abandonSession(DriverService service) {
+        for (SharedService<?> shared : allServices) {
+            if (shared.service == service) {
+                if (shared.pendingHandout == Thread.currentThread()) {
+                    service.stop();
+                }
+                if (shared.process != null) {
+                    ProcessRegistry.reapNewChildren(shared.process, shared.childrenAtHandout);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stop every driver service, called once from the DriverManager shutdown hook
+     */
+    static void stopAll() {
+        shuttingDown = true;
+        for (SharedService<?> shared : allServices) {
+            try {
+                shared.service.stop();
+            } catch (Exception e) {
+                logger.warn("⚠️ Error stopping {} service: {}", shared.name, e.getMessage());
+            }
+        }
+        logger.info("📊 {}", getStatistics());
+        allServices.clear();
+    }
+
+    /**
+     * Get service reuse metrics as a single log-friendly line
+     */
+    public static String getStatistics() {
+        return String.format("Driver services - Started: %d, Sessions on a reused service: %d, " +
+                        "Driver startup time saved: %d ms",
+                allServices.size(), sessionsOnReusedService.get(), startupMillisSaved.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S extends DriverService> S acquire(String name, boolean multiSession,
+                                                       ServiceFactory<S> factory) {
+        List<SharedService<?>> services = threadServices.get().computeIfAbsent(name, k -> new ArrayList<>());
+        services.removeIf(shared -> !shared.service.isRunning());
+
+        for (SharedService<?> shared : services) {
+            if (multiSession || shared.activeSessions.get() == 0) {
+                shared.activeSessions.incrementAndGet();
+                shared.pendingHandout = Thread.currentThread();
+                long sessionNumber = shared.sessionCount.incrementAndGet();
+                sessionsOnReusedService.incrementAndGet();
+                startupMillisSaved.addAndGet(shared.startupMillis);
+                shared.rememberChildren();
+                logger.info("♻️ Reusing {} at {} (session #{} on this service, saved ~{} ms of driver startup)",
+                        name, shared.service.getUrl(), sessionNumber, shared.startupMillis);
+                return (S) shared.service;
+            }
+        }
+
+        SharedService<S> shared = new SharedService<>(name);
+        shared.service = factory.create(shared);
+        long start = System.currentTimeMillis();
+        try {
+            shared.service.start();
+        } catch (IOException e) {
+            throw new WebDriverException("Could not start " + name + " service", e);
+        }
+        shared.startupMillis = System.currentTimeMillis() - start;
+        shared.activeSessions.incrementAndGet();
+        shared.pendingHandout = Thread.currentThread();
+        shared.sessionCount.incrementAndGet();
+
+        shared.process = findServiceProcess(shared.service);
+        if (shared.process != null) {
+            ProcessRegistry.register(shared.process, name + " service");
+        }
+        shared.rememberChildren();
+
+        services.add(shared);
+        allServices.add(shared);
+        logger.info("🚀 Started long-lived {} at {} for thread {} in {} ms",
+                name, shared.service.getUrl(), Thread.currentThread().getName(), shared.startupMillis);
+        return shared.service;
+    }
+
+    /**
+     * Selenium does not expose the pid of a driver service, so find it by its --port argument
+     */
+    private static ProcessHandle findServiceProcess(DriverService service) {
+        String portSwitch = "--port=" + service.getUrl().getPort();
+        return ProcessHandle.current().children()
+                .filter(process -> BrowserProcesses.getArguments(process).contains(portSwitch))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Called by the shared services when Selenium asks them to stop at the end of a session, or
+     * after a failed session creation. This is the only place a session slot is released.
+     */
+    private static boolean releaseSession(SharedService<?> shared) {
+        // The handing-out thread stopping the service means its handout is settled
+        if (shared.pendingHandout == Thread.currentThread()) {
+            shared.pendingHandout = null;
+        }
+        shared.activeSessions.updateAndGet(count -> Math.max(0, count - 1));
+        return shuttingDown;
+    }
+
+    private static ChromeDriverService buildChromeService(SharedService<?> shared) {
+        return new ChromeDriverService.Builder() {
+            @Override
+            protected ChromeDriverService createDriverService(File exe, int port, Duration timeout,
+                                                              List<String> args, Map<String, String> environment) {
+                try {
+                    return new ChromeDriverService(exe, port, timeout, args, environment) {
+                        @Override
+                        public void stop() {
+                            if (releaseSession(shared)) {
+                                super.stop();
+                            }
+                        }
+                    };
+                } catch (IOException e) {
+                    throw new WebDriverException(e);
+                }
+            }
+        }.build();
+    }
+
+    private static EdgeDriverService buildEdgeService(SharedService<?> shared) {
+        return new EdgeDriverService.Builder() {
+            @Override
+            protected EdgeDriverService createDriverService(File exe, int port, Duration timeout,
+                                                            List<String> args, Map<String, String> environment) {
+                try {
+                    return new EdgeDriverService(exe, port, timeout, args, environment) {
+                        @Override
+                        public void stop() {
+                            if (releaseSession(shared)) {
+                                super.stop();
+                            }
+                        }
+                    };
+                } catch (IOException e) {
+                    throw new WebDriverException(e);
+                }
+            }
+        }.build();
+    }
+
+    private static GeckoDriverService buildGeckoService(SharedService<?> shared) {
+        return new GeckoDriverService.Builder() {
+            @Override
+            protected GeckoDriverService createDriverService(File exe, int port, Duration timeout,
+                                                             List<String> args, Map<String, String> environment) {
+                try {
+                    return new GeckoDriverService(exe, port, timeout, args, environment) {
+                        @Override
+                        public void stop() {
+                            if (releaseSession(shared)) {
+                                super.stop();
+                            }
+                        }
+                    };
+                } catch (IOException e) {
+                    throw new WebDriverException(e);
+                }
+            }
+        }.build();
+    }
+
+    @FunctionalInterface
+    private interface ServiceFactory<S extends DriverService> {
+        S create(SharedService<?> shared);
+    }
+
+    /**
+     * A driver service together with its usage counters
+     */
+    private static class SharedService<S extends DriverService> {
+        private final String name;
+        private final AtomicInteger activeSessions = new AtomicInteger();
+        private final AtomicLong sessionCount = new AtomicLong();
+        private S service;
+        private long startupMillis;
+        private ProcessHandle process;
+        private Set<Long> childrenAtHandout = Set.of();
+        // Thread that got the last session slot, until it stops the service
+        private volatile Thread pendingHandout;
+
+        private SharedService(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Snapshot the service's children before a session is created, to tell apart a browser
+         * that a failed session creation leaves behind
+         */
+        private void rememberChildren() {
+            if (process != null) {
+                childrenAtHandout = process.children().map(ProcessHandle::pid).collect(Collectors.toSet());
+            }
+        }
+    }
+}
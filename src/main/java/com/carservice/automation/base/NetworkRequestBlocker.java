@@ -0,0 +1,234 @@
+package com.carservice.automation.base;
+
+import com.carservice.automation.utils.ConfigurationManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Drops unwanted network requests in Chromium sessions according to a {@link RequestBlockingProfile}.
+ *
+ * URL patterns are blocked with Network.setBlockedURLs and resource types through Fetch
+ * interception. Blocked requests are counted per run; the bytes they would have cost are
+ * estimated from request-sizes.properties in the framework cache directory, which records the
+ * transfer size of every request that did load while blocking (or network.blocking.learn.sizes)
+ * was active.
+ */
+public class NetworkRequestBlocker {
+
+    private static final Logger logger = LogManager.getLogger(NetworkRequestBlocker.class);
+    private static final String SIZE_CATALOG_FILE = "request-sizes.properties";
+
+    private static final Map<String, Long> knownSizes = loadSizeCatalog();
+    private static final Map<String, AtomicLong> blockedByType = new ConcurrentHashMap<>();
+    private static final AtomicLong blockedRequests = new AtomicLong();
+    private static final AtomicLong blockedWithKnownSize = new AtomicLong();
+    private static final AtomicLong bytesAvoided = new AtomicLong();
+    private static final AtomicLong bytesLoaded = new AtomicLong();
+
+    /**
+     * Get the profile configured for this run
+     * @return Configured profile, NONE if unset
+     * @throws IllegalArgumentException if network.blocking.profile names an unknown profile
+     */
+    public static RequestBlockingProfile getConfiguredProfile() {
+        String name = ConfigurationManager.getSystemPropertyOrConfig(
+                "network.blocking.profile", "network.blocking.profile", "none");
+        return RequestBlockingProfile.fromConfigName(name);
+    }
+
+    /**
+     * Apply the configured profile to the session's current window.
+     * Safe to call again after the window changes (e.g. a pooled session being leased).
+     * @param driver WebDriver instance; non-Chromium drivers are left untouched
+     */
+    public static void apply(WebDriver driver) {
+        apply(driver, getConfiguredProfile());
+    }
+
+    /**
+     * Apply a profile to the session's current window
+     * @param driver WebDriver instance; non-Chromium drivers are left untouched
+     * @param profile Profile, usually {@link #getConfiguredProfile()} read before the session was acquired
+     */
+    public static void apply(WebDriver driver, RequestBlockingProfile profile) {
+        boolean learnSizes = ConfigurationManager.getBooleanProperty("network.blocking.learn.sizes", false);
+        if ((profile == RequestBlockingProfile.NONE && !learnSizes) || !(driver instanceof ChromiumDriver)) {
+            return;
+        }
+
+        List<String> urlPatterns = new ArrayList<>(profile.getUrlPatterns());
+        urlPatterns.addAll(getExtraPatterns());
+        List<String> resourceTypes = profile.getResourceTypes();
+
+        try {
+            DevTools devTools = ((ChromiumDriver) driver).getDevTools();
+            devTools.createSession(driver.getWindowHandle());
+            devTools.clearListeners();
+
+            Map<String, String> urlsByRequestId = new ConcurrentHashMap<>();
+            Map<String, String> typesByRequestId = new ConcurrentHashMap<>();
+
+            devTools.addListener(event("Network.requestWillBeSent"), params -> {
+                String requestId = (String) params.get("requestId");
+                urlsByRequestId.put(requestId, String.valueOf(asMap(params.get("request")).get("url")));
+                typesByRequestId.put(requestId, String.valueOf(params.getOrDefault("type", "Other")));
+            });
+            devTools.addListener(event("Network.loadingFinished"), params -> {
+                String url = urlsByRequestId.remove(params.get("requestId"));
+                typesByRequestId.remove(params.get("requestId"));
+                long size = ((Number) params.getOrDefault("encodedDataLength", 0)).longValue();
+                bytesLoaded.addAndGet(size);
+                if (url != null && size > 0) {
+                    knownSizes.put(catalogKey(url), size);
+                }
+            });
+            devTools.addListener(event("Network.loadingFailed"), params -> {
+                String url = urlsByRequestId.remove(params.get("requestId"));
+                String type = typesByRequestId.remove(params.get("requestId"));
+                // "inspector" is the reason reported for Network.setBlockedURLs matches
+                if ("inspector".equals(params.get("blockedReason"))) {
+                    recordBlocked(url, type);
+                }
+            });
+
+            devTools.send(new Command<Void>("Network.enable", Map.of()));
+            devTools.send(new Command<Void>("Network.setBlockedURLs", Map.of("urls", urlPatterns)));
+
+            if (!resourceTypes.isEmpty()) {
+                List<Map<String, Object>> patterns = resourceTypes.stream()
+                        .map(type -> Map.<String, Object>of("urlPattern", "*", "resourceType", type, "requestStage", "Request"))
+                        .collect(Collectors.toList());
+                devTools.addListener(event("Fetch.requestPaused"), params -> {
+                    Map<String, Object> request = asMap(params.get("request"));
+                    recordBlocked(String.valueOf(request.get("url")), String.valueOf(params.get("resourceType")));
+                    devTools.send(new Command<Void>("Fetch.failRequest",
+                            Map.of("requestId", params.get("requestId"), "errorReason", "BlockedByClient")));
+                });
+                devTools.send(new Command<Void>("Fetch.enable", Map.of("patterns", patterns)));
+            }
+
+            logger.info("🚧 Network blocking profile '{}' applied ({} URL patterns, resource types: {})",
+                    profile.getConfigName(), urlPatterns.size(), resourceTypes.isEmpty() ? "none" : resourceTypes);
+        } catch (Exception e) {
+            logger.warn("⚠️ Could not apply network blocking profile '{}': {}", profile.getConfigName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Log what blocking avoided during this run and persist learned request sizes
+     */
+    static void logStatistics() {
+        if (blockedRequests.get() == 0 && bytesLoaded.get() == 0) {
+            return;
+        }
+
+        Map<String, Long> byType = new TreeMap<>();
+        blockedByType.forEach((type, count) -> byType.put(type, count.get()));
+        logger.info("📊 Network blocking [{}] - Requests avoided: {} {}, Bytes avoided: ~{} KB " +
+                        "(sizes known for {} of them), Bytes loaded: {} KB",
+                getConfiguredProfile().getConfigName(), blockedRequests.get(), byType,
+                bytesAvoided.get() / 1024, blockedWithKnownSize.get(), bytesLoaded.get() / 1024);
+
+        saveSizeCatalog();
+    }
+
+    private static void recordBlocked(String url, String type) {
+        blockedRequests.incrementAndGet();
+        blockedByType.computeIfAbsent(type == null ? "Other" : type, k -> new AtomicLong()).incrementAndGet();
+        Long size = url == null ? null : knownSizes.get(catalogKey(url));
+        if (size != null) {
+            blockedWithKnownSize.incrementAndGet();
+            bytesAvoided.addAndGet(size);
+        }
+        logger.debug("🚧 Blocked {} request: {}", type, url);
+    }
+
+    private static List<String> getExtraPatterns() {
+        String extra = ConfigurationManager.getProperty("network.blocking.extra.patterns", "");
+        return Arrays.stream(extra.split(","))
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : new HashMap<>();
+    }
+
+    /**
+     * Query strings usually carry cache busters, so sizes are keyed by URL without them
+     */
+    private static String catalogKey(String url) {
+        int queryStart = url.indexOf('?');
+        return queryStart == -1 ? url : url.substring(0, queryStart);
+    }
+
+    private static Map<String, Long> loadSizeCatalog() {
+        Map<String, Long> sizes = new ConcurrentHashMap<>();
+        Path catalogPath = ConfigurationManager.getFrameworkCacheDir().resolve(SIZE_CATALOG_FILE);
+        if (Files.exists(catalogPath)) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(catalogPath)) {
+                properties.load(in);
+                properties.forEach((url, size) -> {
+                    try {
+                        sizes.put((String) url, Long.parseLong((String) size));
+                    } catch (NumberFormatException e) {
+                        logger.debug("Ignoring invalid size entry for {}", url);
+                    }
+                });
+            } catch (IOException e) {
+                logger.warn("⚠️ Could not read request size catalog: {}", e.getMessage());
+            }
+        }
+        return sizes;
+    }
+
+    private static void saveSizeCatalog() {
+        if (knownSizes.isEmpty()) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        knownSizes.forEach((url, size) -> properties.setProperty(url, String.valueOf(size)));
+        Path catalogPath = ConfigurationManager.getFrameworkCacheDir().resolve(SIZE_CATALOG_FILE);
+        try {
+            Files.createDirectories(catalogPath.getParent());
+            Path tempFile = Files.createTempFile(catalogPath.getParent(), SIZE_CATALOG_FILE, ".tmp");
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                properties.store(out, "Transfer sizes of loaded requests, used to estimate blocked bytes");
+            }
+            Files.move(tempFile, catalogPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not write request size catalog: {}", e.getMessage());
+        }
+    }
+}
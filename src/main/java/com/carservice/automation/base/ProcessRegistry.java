@@ -0,0 +1,280 @@
+package com.carservice.automation.base;
+
+import com.carservice.automation.utils.ConfigurationManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Records every browser and driver process the framework starts, so none outlive the run.
+ *
+ * Each JVM writes its processes (pid, start time, executable) to a file under the framework
+ * cache directory. At shutdown the JVM kills whatever it registered that is still running, and
+ * the first DriverManager use in a later run sweeps the files of JVMs that died without getting
+ * that far (e.g. killed by CI). A process is only killed if its start time and executable both
+ * match what was recorded, so an unrelated process that has since reused the pid (such as the
+ * developer's own browser) is left alone. Processes whose start time cannot be read are not
+ * registered. Every reap is logged with the memory it freed.
+ *
+ * On by default; set driver.process.reaper.enabled=false to turn it off.
+ */
+public class ProcessRegistry {
+
+    private static final Logger logger = LogManager.getLogger(ProcessRegistry.class);
+
+    private static final Set<String> KNOWN_EXECUTABLES = Set.of(
+            "chrome", "chrome.exe", "google-chrome", "chromium", "chromium-browser", "chromedriver", "chromedriver.exe",
+            "msedge", "msedge.exe", "msedgedriver", "msedgedriver.exe",
+            "firefox", "firefox.exe", "firefox-bin", "geckodriver", "geckodriver.exe");
+
+    private static final List<Entry> entries = new CopyOnWriteArrayList<>();
+    private static final Path registryFile = getRegistryDirectory().resolve(
+            ProcessHandle.current().pid() + "-" + currentStartMillis() + ".pids");
+
+    /**
+     * Check whether process tracking is enabled in configuration
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigurationManager.getSystemPropertyOrConfig(
+                "driver.process.reaper.enabled", "driver.process.reaper.enabled", "true"));
+    }
+
+    /**
+     * Record a process started on behalf of the framework
+     * @param process Process handle
+     * @param role Short description for the report, e.g. "chromedriver service"
+     */
+    public static void register(ProcessHandle process, String role) {
+        if (!isEnabled() || !process.isAlive()) {
+            return;
+        }
+        if (startMillis(process) == 0) {
+            // Without a start time a reused pid could not be told apart later
+            logger.debug("Not registering {} process {}: start time unavailable", role, process.pid());
+            return;
+        }
+        entries.removeIf(entry -> !entry.matchesLiveProcess());
+        entries.add(new Entry(process.pid(), startMillis(process), BrowserProcesses.getExecutableName(process), role));
+        persist();
+        logger.debug("📇 Registered {} process {} ({})", role, process.pid(), BrowserProcesses.getExecutableName(process));
+    }
+
+    /**
+     * Kill browsers a driver service launched for a session that then failed to start
+     * @param service Driver service process
+     * @param knownChildren Children the service already had before the failed attempt
+     */
+    static void reapNewChildren(ProcessHandle service, Set<Long> knownChildren) {
+        List<Reaped> reaped = new ArrayList<>();
+        service.children()
+                .filter(child -> !knownChildren.contains(child.pid()))
+                .filter(child -> KNOWN_EXECUTABLES.contains(BrowserProcesses.getExecutableName(child)))
+                .forEach(child -> reaped.add(kill(child, "browser of failed session")));
+        report("Reaped browsers left by failed session setup", reaped);
+    }
+
+    /**
+     * Kill processes registered by JVMs that are no longer running, called on first DriverManager use
+     */
+    static void sweepPreviousRuns() {
+        if (!isEnabled()) {
+            return;
+        }
+        List<Reaped> reaped = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(getRegistryDirectory(), "*.pids")) {
+            for (Path file : files) {
+                if (file.equals(registryFile) || isOwnerAlive(file)) {
+                    continue;
+                }
+                for (Entry entry : readEntries(file)) {
+                    entry.findLiveProcess().ifPresent(process -> reaped.add(kill(process, entry.role)));
+                }
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not sweep process registry: {}", e.getMessage());
+        }
+        report("Reaped leftovers from earlier runs", reaped);
+    }
+
+    /**
+     * Kill everything this JVM registered that is still alive, called from the DriverManager shutdown hook
+     */
+    static void reapAll() {
+        List<Reaped> reaped = new ArrayList<>();
+        for (Entry entry : entries) {
+            entry.findLiveProcess().ifPresent(process -> reaped.add(kill(process, entry.role)));
+        }
+        entries.clear();
+        report("Reaped processes still running at shutdown", reaped);
+
+        try {
+            Files.deleteIfExists(registryFile);
+        } catch (IOException e) {
+            logger.debug("Could not delete process registry file: {}", e.getMessage());
+        }
+    }
+
+    private static Reaped kill(ProcessHandle process, String role) {
+        String name = BrowserProcesses.getExecutableName(process);
+        long residentBytes = Math.max(0, BrowserProcesses.getTreeResidentBytes(process));
+        List<ProcessHandle> tree = process.descendants().collect(Collectors.toList());
+
+        process.destroy();
+        tree.forEach(ProcessHandle::destroy);
+        try {
+            process.onExit().get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            process.destroyForcibly();
+        }
+        tree.stream().filter(ProcessHandle::isAlive).forEach(ProcessHandle::destroyForcibly);
+
+        return new Reaped(process.pid(), name, role, tree.size() + 1, residentBytes);
+    }
+
+    private static void report(String title, List<Reaped> reaped) {
+        if (reaped.isEmpty()) {
+            return;
+        }
+
+        long totalProcesses = 0;
+        long totalBytes = 0;
+        for (Reaped item : reaped) {
+            logger.warn("🧟 {} pid {} ({}, {} processes, {} MB)", item.name, item.pid, item.role,
+                    item.processCount, item.residentBytes / (1024 * 1024));
+            totalProcesses += item.processCount;
+            totalBytes += item.residentBytes;
+        }
+        logger.warn("📊 {}: {} process trees, {} processes, ~{} MB reclaimed",
+                title, reaped.size(), totalProcesses, totalBytes / (1024 * 1024));
+    }
+
+    private static boolean isOwnerAlive(Path file) {
+        // File names are <pid>-<start millis>.pids
+        String[] parts = file.getFileName().toString().replace(".pids", "").split("-");
+        try {
+            long ownerPid = Long.parseLong(parts[0]);
+            long ownerStart = Long.parseLong(parts[1]);
+            return ProcessHandle.of(ownerPid)
+                    .filter(ProcessHandle::isAlive)
+                    .map(owner -> startMillis(owner) == ownerStart || startMillis(owner) == 0)
+                    .orElse(false);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static synchronized void persist() {
+        List<String> lines = entries.stream().map(Entry::toLine).collect(Collectors.toList());
+        try {
+            Files.createDirectories(registryFile.getParent());
+            Files.write(registryFile, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not write process registry: {}", e.getMessage());
+        }
+    }
+
+    private static List<Entry> readEntries(Path file) throws IOException {
+        List<Entry> result = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] parts = line.split(",", 4);
+            if (parts.length == 4) {
+                try {
+                    result.add(new Entry(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2], parts[3]));
+                } catch (NumberFormatException e) {
+                    logger.debug("Ignoring malformed registry line: {}", line);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Path getRegistryDirectory() {
+        Path directory = ConfigurationManager.getFrameworkCacheDir().resolve("processes");
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not create process registry directory {}: {}", directory, e.getMessage());
+        }
+        return directory;
+    }
+
+    private static long currentStartMillis() {
+        return startMillis(ProcessHandle.current());
+    }
+
+    private static long startMillis(ProcessHandle process) {
+        return process.info().startInstant().map(Instant::toEpochMilli).orElse(0L);
+    }
+
+    /**
+     * A registered process
+     */
+    private static class Entry {
+        private final long pid;
+        private final long startMillis;
+        private final String executable;
+        private final String role;
+
+        private Entry(long pid, long startMillis, String executable, String role) {
+            this.pid = pid;
+            this.startMillis = startMillis;
+            this.executable = executable;
+            this.role = role;
+        }
+
+        /**
+         * Find the process only if it is still the one that was registered: same start time and
+         * same executable. Entries without a recorded start time are never trusted
+         */
+        private Optional<ProcessHandle> findLiveProcess() {
+            if (startMillis == 0) {
+                return Optional.empty();
+            }
+            return ProcessHandle.of(pid)
+                    .filter(ProcessHandle::isAlive)
+                    .filter(process -> startMillis(process) == startMillis)
+                    .filter(process -> BrowserProcesses.getExecutableName(process).equals(executable));
+        }
+
+        private boolean matchesLiveProcess() {
+            return findLiveProcess().isPresent();
+        }
+
+        private String toLine() {
+            return pid + "," + startMillis + "," + executable + "," + role;
+        }
+    }
+
+    /**
+     * A killed process tree, for the report
+     */
+    private static class Reaped {
+        private final long pid;
+        private final String name;
+        private final String role;
+        private final int processCount;
+        private final long residentBytes;
+
+        private Reaped(long pid, String name, String role, int processCount, long residentBytes) {
+            this.pid = pid;
+            this.name = name;
+            this.role = role;
+            this.processCount = processCount;
+            this.residentBytes = residentBytes;
+        }
+    }
+}
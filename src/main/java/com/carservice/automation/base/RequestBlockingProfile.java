@@ -0,0 +1,104 @@
+package com.carservice.automation.base;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Named sets of network requests that Chromium sessions drop before they are sent.
+ *
+ * URL patterns use the Network.setBlockedURLs wildcard syntax; resource types are CDP
+ * Network.ResourceType names and are blocked through Fetch interception.
+ * Chosen with network.blocking.profile in config.properties.
+ */
+public enum RequestBlockingProfile {
+
+    /** Load everything (default) */
+    NONE("none", Collections.emptyList(), Collections.emptyList()),
+
+    /** Analytics, tag managers, ad and session-recording scripts */
+    THIRD_PARTY("third-party", Arrays.asList(
+            "*google-analytics.com*",
+            "*googletagmanager.com*",
+            "*doubleclick.net*",
+            "*googlesyndication.com*",
+            "*connect.facebook.net*",
+            "*facebook.com/tr*",
+            "*hotjar.com*",
+            "*clarity.ms*",
+            "*segment.io*",
+            "*mixpanel.com*"
+    ), Collections.emptyList()),
+
+    /** Third-party requests plus web fonts and audio/video */
+    HEAVY_ASSETS("heavy-assets", Arrays.asList(
+            "*fonts.googleapis.com*",
+            "*fonts.gstatic.com*",
+            "*.woff",
+            "*.woff2",
+            "*.ttf",
+            "*.otf",
+            "*.mp4",
+            "*.webm"
+    ), Arrays.asList("Font", "Media")),
+
+    /** Heavy assets plus images; only for suites that never click image-only controls */
+    LEAN("lean", Collections.emptyList(), Arrays.asList("Image"));
+
+    private final String configName;
+    private final List<String> ownUrlPatterns;
+    private final List<String> ownResourceTypes;
+
+    RequestBlockingProfile(String configName, List<String> urlPatterns, List<String> resourceTypes) {
+        this.configName = configName;
+        this.ownUrlPatterns = urlPatterns;
+        this.ownResourceTypes = resourceTypes;
+    }
+
+    /**
+     * Get the profile for a config value such as "third-party"
+     * @param name Profile name from configuration
+     * @return Matching profile
+     * @throws IllegalArgumentException if no profile has that name
+     */
+    public static RequestBlockingProfile fromConfigName(String name) {
+        for (RequestBlockingProfile profile : values()) {
+            if (profile.configName.equalsIgnoreCase(name.trim())) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown network blocking profile: " + name +
+                ". Supported: none, third-party, heavy-assets, lean");
+    }
+
+    /**
+     * Get URL patterns blocked by this profile, including those of the profiles it extends
+     */
+    public List<String> getUrlPatterns() {
+        List<String> patterns = new ArrayList<>();
+        for (RequestBlockingProfile profile : values()) {
+            if (profile.ordinal() <= ordinal()) {
+                patterns.addAll(profile.ownUrlPatterns);
+            }
+        }
+        return patterns;
+    }
+
+    /**
+     * Get resource types blocked by this profile, including those of the profiles it extends
+     */
+    public List<String> getResourceTypes() {
+        List<String> types = new ArrayList<>();
+        for (RequestBlockingProfile profile : values()) {
+            if (profile.ordinal() <= ordinal()) {
+                types.addAll(profile.ownResourceTypes);
+            }
+        }
+        return types;
+    }
+
+    public String getConfigName() {
+        return configName;
+    }
+}
@@ -0,0 +1,220 @@
+package com.carservice.automation.base;
+
+import com.carservice.automation.utils.ConfigurationManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background health checks for every session DriverManager has created.
+ *
+ * Each sample measures the resident memory of the session's browser process tree, which is read
+ * from the OS and never touches the session. The round-trip time of a trivial script is only
+ * measured on pooled sessions while they sit idle: they are taken out of the idle queue for the
+ * probe, so the watchdog never sends commands to a session a test is using, never queues behind
+ * a test's own waits and never triggers unhandled-prompt handling. A session that exceeds the
+ * memory threshold, or stays above the latency threshold for several consecutive samples, is
+ * marked for recycling; the pool retires it instead of leasing it again or when it is released.
+ * A probe that does not return at all means a hung renderer: the session is marked for recycling
+ * at once and retired instead of going back to the idle queue, since the abandoned command may
+ * still be running in it. Leased sessions are never quit by the watchdog.
+ *
+ * Recycling needs the pool (driver.pool.enabled=true). Outside pool mode there are no idle
+ * sessions, so latency is never probed and hung renderers are not detected; sessions over the
+ * memory threshold are only logged, and are quit as usual when their test releases them.
+ *
+ * Enabled with driver.watchdog.enabled=true; thresholds are in config.properties.
+ */
+public class SessionWatchdog {
+
+    private static final Logger logger = LogManager.getLogger(SessionWatchdog.class);
+
+    private static final Map<WebDriver, SessionHealth> sessions = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> recyclesByReason = new ConcurrentHashMap<>();
+    private static final AtomicLong samples = new AtomicLong();
+    private static final AtomicLong peakResidentBytes = new AtomicLong();
+
+    private static ScheduledExecutorService sampler;
+    private static ExecutorService probes;
+
+    /**
+     * Check whether the watchdog is enabled in configuration
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigurationManager.getSystemPropertyOrConfig(
+                "driver.watchdog.enabled", "driver.watchdog.enabled", "false"));
+    }
+
+    /**
+     * Start watching a newly created session
+     * @param driver WebDriver instance
+     */
+    static void register(WebDriver driver) {
+        if (!isEnabled()) {
+            return;
+        }
+        startSampler();
+        sessions.put(driver, new SessionHealth());
+    }
+
+    /**
+     * Stop watching a session that is being quit
+     * @param driver WebDriver instance
+     */
+    static void unregister(WebDriver driver) {
+        sessions.remove(driver);
+    }
+
+    /**
+     * Check whether the watchdog has asked for a session to be recycled
+     * @param driver WebDriver instance
+     * @return Recycle reason, or null if the session is healthy
+     */
+    public static String getRecycleReason(WebDriver driver) {
+        SessionHealth health = sessions.get(driver);
+        return health == null ? null : health.recycleReason;
+    }
+
+    /**
+     * Get recycle counts and sampling metrics as a single log-friendly line
+     */
+    public static String getStatistics() {
+        Map<String, Long> byReason = new ConcurrentHashMap<>();
+        recyclesByReason.forEach((reason, count) -> byReason.put(reason, count.get()));
+        return String.format("Session watchdog - Samples: %d, Recycles: %s, Peak browser RSS: %d MB",
+                samples.get(), byReason, peakResidentBytes.get() / (1024 * 1024));
+    }
+
+    /**
+     * Stop sampling and log metrics, called from the DriverManager shutdown hook
+     */
+    static synchronized void shutdown() {
+        if (sampler == null) {
+            return;
+        }
+        sampler.shutdownNow();
+        probes.shutdownNow();
+        sampler = null;
+        logger.info("📊 {}", getStatistics());
+    }
+
+    private static synchronized void startSampler() {
+        if (sampler != null) {
+            return;
+        }
+
+        int intervalSeconds = Math.max(1, ConfigurationManager.getIntProperty("driver.watchdog.interval.seconds", 15));
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        probes = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "session-watchdog-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleWithFixedDelay(SessionWatchdog::sampleAll, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        logger.info("🐕 Session watchdog started (every {}s)", intervalSeconds);
+    }
+
+    private static void sampleAll() {
+        long maxResidentBytes = ConfigurationManager.getIntProperty("driver.watchdog.max.rss.mb", 1500) * 1024L * 1024L;
+        long maxLatencyMillis = ConfigurationManager.getIntProperty("driver.watchdog.max.latency.ms", 5000);
+        int allowedBreaches = Math.max(1, ConfigurationManager.getIntProperty("driver.watchdog.latency.breaches", 3));
+
+        sessions.forEach((driver, health) -> {
+            if (health.recycleReason != null) {
+                return;
+            }
+            try {
+                sample(driver, health, maxResidentBytes, maxLatencyMillis, allowedBreaches);
+            } catch (Exception e) {
+                logger.debug("Watchdog sample failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    private static void sample(WebDriver driver, SessionHealth health, long maxResidentBytes,
+                               long maxLatencyMillis, int allowedBreaches) {
+        samples.incrementAndGet();
+
+        if (health.browserProcess == null) {
+            Optional<ProcessHandle> process = BrowserProcesses.findBrowserProcess(driver);
+            health.browserProcess = process.orElse(null);
+        }
+        if (health.browserProcess != null && health.browserProcess.isAlive()) {
+            long residentBytes = BrowserProcesses.getTreeResidentBytes(health.browserProcess);
+            peakResidentBytes.accumulateAndGet(residentBytes, Math::max);
+            if (residentBytes > maxResidentBytes) {
+                requestRecycle(health, "memory", String.format("browser RSS %d MB exceeds %d MB",
+                        residentBytes / (1024 * 1024), maxResidentBytes / (1024 * 1024)));
+                return;
+            }
+        }
+
+        // Only idle pooled sessions are probed; the pool keeps them out of lease() meanwhile
+        DriverPool.checkIfIdle(driver, idleDriver -> probeLatency(idleDriver, health, maxLatencyMillis, allowedBreaches));
+    }
+
+    private static void probeLatency(WebDriver driver, SessionHealth health, long maxLatencyMillis, int allowedBreaches) {
+        // Allow twice the threshold before giving up on the probe and counting it as a breach
+        long start = System.currentTimeMillis();
+        Future<?> probe = probes.submit(() -> ((JavascriptExecutor) driver).executeScript("return 1;"));
+        try {
+            probe.get(maxLatencyMillis * 2, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // The command may still be running in the session, so it must not be leased again
+            probe.cancel(true);
+            requestRecycle(health, "hung", "idle session did not answer a script within " + maxLatencyMillis * 2 + " ms");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            // The session may simply be between pages or already quit; not a latency signal
+            return;
+        }
+        long latencyMillis = System.currentTimeMillis() - start;
+
+        if (latencyMillis <= maxLatencyMillis) {
+            health.latencyBreaches = 0;
+            return;
+        }
+
+        health.latencyBreaches++;
+        logger.warn("🐕 Idle session responded in {} ms (threshold {} ms, breach {}/{})",
+                latencyMillis, maxLatencyMillis, health.latencyBreaches, allowedBreaches);
+        if (health.latencyBreaches >= allowedBreaches) {
+            requestRecycle(health, "latency", "command latency above " + maxLatencyMillis + " ms for "
+                    + allowedBreaches + " consecutive samples");
+        }
+    }
+
+    private static void requestRecycle(SessionHealth health, String reason, String detail) {
+        health.recycleReason = reason + ": " + detail;
+        recyclesByReason.computeIfAbsent(reason, k -> new AtomicLong()).incrementAndGet();
+        logger.warn("🐕 Recycling session ({})", health.recycleReason);
+    }
+
+    /**
+     * Watchdog state for one session
+     */
+    private static class SessionHealth {
+        private volatile ProcessHandle browserProcess;
+        private volatile int latencyBreaches;
+        private volatile String recycleReason;
+    }
+}
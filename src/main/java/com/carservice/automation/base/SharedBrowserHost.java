@@ -0,0 +1,412 @@
+package com.carservice.automation.base;
+
+import com.carservice.automation.utils.ConfigurationManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.Connection;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.SeleniumCdpConnection;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Runs several isolated scenarios inside one Chrome process using CDP browser contexts.
+ *
+ * Each host is a Chrome process started with remote debugging. A scenario gets its own
+ * ChromeDriver session attached to a host (goog:chromeOptions.debuggerAddress) and a dedicated
+ * browser context created with Target.createBrowserContext, so cookies, storage and cache are
+ * not shared with the other scenarios in the same process. Closing the scenario disposes the
+ * context; the Chrome process keeps running until the JVM exits.
+ *
+ * A new host is launched outside the host lock: the scenario that needs it reserves a slot on a
+ * host that is still starting and launches it, and scenarios that pick the same host wait for it
+ * to become ready, while opening and closing contexts on other hosts carries on.
+ *
+ * The window handles ChromeDriver reports for an attached session include the tabs of every
+ * context in the process; {@link #getWindowHandles(WebDriver)} narrows them to the session's own
+ * context through a browser-level CDP connection per host.
+ *
+ * Browser contexts are in-memory, so this mode does not use the profile template.
+ */
+public class SharedBrowserHost {
+
+    private static final Logger logger = LogManager.getLogger(SharedBrowserHost.class);
+
+    private static final List<SharedBrowserHost> hosts = new CopyOnWriteArrayList<>();
+    private static final Map<WebDriver, ContextLease> leases = new ConcurrentHashMap<>();
+    private static final AtomicLong contextsOpened = new AtomicLong();
+
+    private final boolean headless;
+    private final AtomicBoolean launchClaimed = new AtomicBoolean();
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
+    // Set by launch() before ready completes
+    private volatile Process process;
+    private volatile Path userDataDir;
+    private volatile int debuggingPort;
+    private Connection browserConnection;
+    private int activeContexts;
+
+    private SharedBrowserHost(boolean headless) {
+        this.headless = headless;
+    }
+
+    /**
+     * Check whether shared-browser mode is enabled in configuration
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigurationManager.getSystemPropertyOrConfig(
+                "driver.shared.browser.enabled", "driver.shared.browser.enabled", "false"));
+    }
+
+    /**
+     * Open an isolated browser context in a shared Chrome and return a session driving it
+     * @param headless Run in headless mode
+     * @return WebDriver whose current window belongs to a fresh browser context
+     */
+    public static WebDriver openContext(boolean headless) {
+        SharedBrowserHost host = reserveHost(headless);
+        host.awaitReady();
+
+        ChromeOptions options = new ChromeOptions();
+        options.setExperimentalOption("debuggerAddress", "127.0.0.1:" + host.debuggingPort);
+
+        ChromeDriverService service = DriverServiceRegistry.getChromeService();
+        ChromeDriver driver;
+        try {
+            driver = new ChromeDriver(service, options);
+        } catch (RuntimeException e) {
+            DriverServiceRegistry.abandonSession(service);
+            host.releaseSlot();
+            throw e;
+        }
+
+        try {
+            DevTools devTools = driver.getDevTools();
+
+            // Sent before any target session exists, so these go to the browser target
+            String contextId = String.valueOf(devTools.send(new Command<Map<String, Object>>(
+                    "Target.createBrowserContext", Map.of("disposeOnDetach", false), Json.MAP_TYPE))
+                    .get("browserContextId"));
+
+            Map<String, Object> targetParams = new HashMap<>();
+            targetParams.put("url", "about:blank");
+            targetParams.put("browserContextId", contextId);
+            targetParams.put("newWindow", true);
+            if (headless) {
+                targetParams.put("width", 1920);
+                targetParams.put("height", 1080);
+            }
+            String targetId = String.valueOf(devTools.send(new Command<Map<String, Object>>(
+                    "Target.createTarget", targetParams, Json.MAP_TYPE)).get("targetId"));
+
+            // ChromeDriver uses the CDP target id as the window handle
+            driver.switchTo().window(targetId);
+
+            leases.put(driver, new ContextLease(host, contextId));
+            contextsOpened.incrementAndGet();
+            logger.info("🧩 Opened browser context {} in shared Chrome on port {} ({} active)",
+                    contextId, host.debuggingPort, host.activeContexts);
+            return driver;
+        } catch (RuntimeException e) {
+            host.releaseSlot();
+            try {
+                driver.quit();
+            } catch (Exception quitEx) {
+                logger.warn("⚠️ Error quitting attached session: {}", quitEx.getMessage());
+            }
+            throw new RuntimeException("Could not open browser context in shared Chrome", e);
+        }
+    }
+
+    /**
+     * Dispose the browser context used by a session; the caller quits the session afterwards
+     * @param driver WebDriver returned by {@link #openContext(boolean)}
+     */
+    static void closeContext(WebDriver driver) {
+        ContextLease lease = leases.remove(driver);
+        if (lease == null) {
+            return;
+        }
+
+        try {
+            // Detach from any page session (e.g. network blocking) so the command reaches the browser target
+            DevTools devTools = ((ChromeDriver) driver).getDevTools();
+            if (devTools.getCdpSession() != null) {
+                devTools.disconnectSession();
+            }
+            devTools.send(new Command<Void>(
+                    "Target.disposeBrowserContext", Map.of("browserContextId", lease.contextId)));
+            logger.info("🧩 Disposed browser context {}", lease.contextId);
+        } catch (Exception e) {
+            logger.warn("⚠️ Could not dispose browser context {}: {}", lease.contextId, e.getMessage());
+        } finally {
+            lease.host.releaseSlot();
+        }
+    }
+
+    /**
+     * Get the window handles of a session, limited to its own browser context in shared mode
+     * @param driver WebDriver instance
+     * @return Handles of the session's windows; all of the driver's handles for other sessions
+     */
+    public static Set<String> getWindowHandles(WebDriver driver) {
+        Set<String> handles = driver.getWindowHandles();
+        ContextLease lease = leases.get(driver);
+        if (lease == null) {
+            return handles;
+        }
+
+        try {
+            Set<String> own = lease.host.getContextTargets(driver, lease.contextId);
+            handles.retainAll(own);
+            return handles;
+        } catch (RuntimeException e) {
+            // Other scenarios' tabs must never be returned; the current window is always our own
+            logger.warn("⚠️ Could not list targets of browser context {}: {}", lease.contextId, e.getMessage());
+            return new LinkedHashSet<>(List.of(driver.getWindowHandle()));
+        }
+    }
+
+    /**
+     * Stop all shared Chrome processes, called from the DriverManager shutdown hook
+     */
+    static void shutdown() {
+        if (hosts.isEmpty()) {
+            return;
+        }
+
+        logger.info("📊 Shared browser - Chrome processes: {}, Browser contexts opened: {}",
+                hosts.size(), contextsOpened.get());
+        for (SharedBrowserHost host : hosts) {
+            host.stop();
+        }
+        hosts.clear();
+    }
+
+    /**
+     * Pick the least busy host for the mode and take a slot on it. Only bookkeeping happens under
+     * the lock: a host created here is launched by the caller in {@link #awaitReady()}
+     */
+    private static synchronized SharedBrowserHost reserveHost(boolean headless) {
+        int maxContexts = Math.max(1, ConfigurationManager.getIntProperty("driver.shared.browser.max.contexts", 6));
+
+        hosts.removeIf(host -> {
+            // Hosts still starting have no process yet; failed launches remove themselves
+            if (host.process != null && !host.process.isAlive()) {
+                logger.warn("⚠️ Shared Chrome on port {} exited unexpectedly", host.debuggingPort);
+                host.stop();
+                return true;
+            }
+            return false;
+        });
+
+        SharedBrowserHost selected = null;
+        for (SharedBrowserHost host : hosts) {
+            if (host.headless == headless && host.activeContexts < maxContexts
+                    && (selected == null || host.activeContexts < selected.activeContexts)) {
+                selected = host;
+            }
+        }
+
+        if (selected == null) {
+            selected = new SharedBrowserHost(headless);
+            hosts.add(selected);
+        }
+        selected.activeContexts++;
+        return selected;
+    }
+
+    /**
+     * Wait until the host is running, launching it on this thread if nobody has yet
+     * @throws RuntimeException if the host could not be started; the reserved slot is released
+     */
+    private void awaitReady() {
+        if (launchClaimed.compareAndSet(false, true)) {
+            Throwable failure = new IllegalStateException("Shared Chrome launch aborted");
+            try {
+                launch();
+                failure = null;
+            } catch (RuntimeException e) {
+                failure = e;
+            } finally {
+                if (failure == null) {
+                    ready.complete(null);
+                } else {
+                    // Unpublish before failing so no new scenario picks the dead host
+                    hosts.remove(this);
+                    ready.completeExceptionally(failure);
+                }
+            }
+        }
+
+        try {
+            ready.join();
+        } catch (CompletionException | CancellationException e) {
+            releaseSlot();
+            throw new RuntimeException("Could not start shared Chrome", e.getCause());
+        }
+    }
+
+    /**
+     * Ids of the page targets in a browser context; ChromeDriver uses these ids as window handles
+     */
+    @SuppressWarnings("unchecked")
+    private Set<String> getContextTargets(WebDriver driver, String contextId) {
+        Connection connection;
+        synchronized (this) {
+            if (browserConnection == null) {
+                // Not the driver's DevTools: that one may be attached to a page, where Target.getTargets is not allowed
+                browserConnection = SeleniumCdpConnection.create(driver)
+                        .orElseThrow(() -> new IllegalStateException("No CDP endpoint for shared Chrome"));
+            }
+            connection = browserConnection;
+        }
+
+        Map<String, Object> result = connection.sendAndWait(null,
+                new Command<Map<String, Object>>("Target.getTargets", Map.of(), Json.MAP_TYPE), Duration.ofSeconds(10));
+        Set<String> targets = new LinkedHashSet<>();
+        for (Map<String, Object> target : (List<Map<String, Object>>) result.get("targetInfos")) {
+            if ("page".equals(target.get("type")) && contextId.equals(target.get("browserContextId"))) {
+                targets.add(String.valueOf(target.get("targetId")));
+            }
+        }
+        return targets;
+    }
+
+    private void releaseSlot() {
+        synchronized (SharedBrowserHost.class) {
+            activeContexts = Math.max(0, activeContexts - 1);
+        }
+    }
+
+    private void launch() {
+        String browserPath = DriverBinaryResolver.getBrowserPath("chrome");
+        if (browserPath == null) {
+            throw new RuntimeException("Shared browser mode needs a detectable Chrome installation");
+        }
+
+        Path userDataDir = null;
+        try {
+            userDataDir = Files.createTempDirectory("autoteam-shared-chrome-");
+
+            List<String> command = new ArrayList<>();
+            command.add(browserPath);
+            command.addAll(DriverManager.getChromeArguments(headless));
+            command.add("--remote-debugging-port=0");
+            command.add("--user-data-dir=" + userDataDir);
+            command.add("--no-first-run");
+            command.add("--no-default-browser-check");
+            // The default-context tab keeps Chrome alive while no scenario context is open
+            command.add("about:blank");
+
+            long start = System.currentTimeMillis();
+            Process process = new ProcessBuilder(command)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            ProcessRegistry.register(process.toHandle(), "shared chrome browser");
+            int port = waitForDebuggingPort(process, userDataDir);
+
+            logger.info("🚀 Shared Chrome started on port {} (pid {}) in {} ms",
+                    port, process.pid(), System.currentTimeMillis() - start);
+            this.userDataDir = userDataDir;
+            this.debuggingPort = port;
+            this.process = process;
+        } catch (IOException e) {
+            deleteQuietly(userDataDir);
+            throw new RuntimeException("Could not start shared Chrome", e);
+        }
+    }
+
+    /**
+     * Chrome picks a free port for --remote-debugging-port=0 and writes it to DevToolsActivePort
+     */
+    private static int waitForDebuggingPort(Process process, Path userDataDir) throws IOException {
+        Path portFile = userDataDir.resolve("DevToolsActivePort");
+        long deadline = System.currentTimeMillis() + 30_000;
+
+        while (System.currentTimeMillis() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("Chrome exited with code " + process.exitValue() + " during startup");
+            }
+            if (Files.exists(portFile)) {
+                List<String> lines = Files.readAllLines(portFile, StandardCharsets.UTF_8);
+                if (!lines.isEmpty() && !lines.get(0).isBlank()) {
+                    return Integer.parseInt(lines.get(0).trim());
+                }
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        process.destroyForcibly();
+        throw new IOException("Chrome did not report a remote debugging port within 30s");
+    }
+
+    private void stop() {
+        synchronized (this) {
+            if (browserConnection != null) {
+                browserConnection.close();
+                browserConnection = null;
+            }
+        }
+        if (process != null) {
+            process.descendants().forEach(ProcessHandle::destroyForcibly);
+            process.destroyForcibly();
+        }
+        deleteQuietly(userDataDir);
+    }
+
+    private static void deleteQuietly(Path directory) {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            logger.debug("Could not delete {}: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * Browser context handed to a session
+     */
+    private static class ContextLease {
+        private final SharedBrowserHost host;
+        private final String contextId;
+
+        private ContextLease(SharedBrowserHost host, String contextId) {
+            this.host = host;
+            this.contextId = contextId;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.carservice.automation.pages.backoffice;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * In-memory snapshot of the FullCalendar week grid
+ * Days, time slots, existing events and non-business hours are read in one script call and
+ * events are indexed per day by start time for interval lookup. A MutationObserver on the
+ * calendar bumps a version counter whenever the calendar DOM changes, so a snapshot can tell
+ * with one cheap call whether it still matches the page.
+ */
+public class CalendarGrid {
+
+    private static final Logger logger = LogManager.getLogger(CalendarGrid.class);
+
+    // Positions are relative to the time grid body, so they do not change when the page scrolls
+    private static final String SNAPSHOT_SCRIPT =
+            "var root = document.querySelector('.fc');" +
+            "if (!root) { return null; }" +
+            "if (!root.__autoteamObserved) {" +
+            "  window.__autoteamCalendarVersion = (window.__autoteamCalendarVersion || 0) + 1;" +
+            "  new MutationObserver(function () { window.__autoteamCalendarVersion++; })" +
+            "    .observe(root, {subtree: true, childList: true, attributes: true, characterData: true});" +
+            "  root.__autoteamObserved = true;" +
+            "}" +
+            "var all = function (xpath) {" +
+            "  var snapshot = document.evaluate(xpath, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), nodes = [];" +
+            "  for (var i = 0; i < snapshot.snapshotLength; i++) { nodes.push(snapshot.snapshotItem(i)); }" +
+            "  return nodes;" +
+            "};" +
+            "var body = root.querySelector('.fc-timegrid-body') || root;" +
+            "var origin = body.getBoundingClientRect().top;" +
+            "var position = function (el, row) {" +
+            "  var rect = el.getBoundingClientRect();" +
+            "  row.top = rect.top - origin; row.bottom = rect.bottom - origin;" +
+            "  return row;" +
+            "};" +
+            "var days = all(arguments[0]).map(function (col, i) {" +
+            "  return {element: col, index: i, date: col.getAttribute('data-date'), classes: col.className};" +
+            "});" +
+            "var lanes = all(arguments[1]).map(function (td) {" +
+            "  return position(td, {element: td, time: td.getAttribute('data-time'), classes: td.className," +
+            "                       displayed: td.getClientRects().length > 0});" +
+            "});" +
+            "var segments = function (selector) {" +
+            "  var rows = [];" +
+            "  days.forEach(function (day) {" +
+            "    day.element.querySelectorAll(selector).forEach(function (el) {" +
+            "      rows.push(position(el, {day: day.index, text: (el.innerText || '').trim()}));" +
+            "    });" +
+            "  });" +
+            "  return rows;" +
+            "};" +
+            "return {version: window.__autoteamCalendarVersion, days: days, lanes: lanes," +
+            "        events: segments('.fc-timegrid-col-events .fc-event'), nonBusiness: segments('.fc-non-business')};";
+
+    private static final String VERSION_SCRIPT =
+            "var root = document.querySelector('.fc');" +
+            "return root && root.__autoteamObserved ? window.__autoteamCalendarVersion : -1;";
+
+    private final long version;
+    private final List<Day> days = new ArrayList<>();
+    private final List<Slot> slots = new ArrayList<>();
+    // Every lane including minor ones, sorted by position, for converting pixels to times
+    private final List<Lane> lanes = new ArrayList<>();
+    private final Map<Integer, NavigableMap<LocalTime, List<Interval>>> eventsByDay = new HashMap<>();
+    private final Map<Integer, NavigableMap<LocalTime, List<Interval>>> nonBusinessByDay = new HashMap<>();
+
+    private CalendarGrid(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Read the calendar grid in one script call
+     * @param driver WebDriver instance
+     * @param dayColumnsXpath XPath of the day columns
+     * @param slotLanesXpath XPath of the time slot lanes, minor lanes included
+     * @return Snapshot of the grid, or null if no calendar is displayed
+     */
+    @SuppressWarnings("unchecked")
+    public static CalendarGrid snapshot(WebDriver driver, String dayColumnsXpath, String slotLanesXpath) {
+        long start = System.currentTimeMillis();
+        Map<String, Object> data = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(SNAPSHOT_SCRIPT, dayColumnsXpath, slotLanesXpath);
+        if (data == null) {
+            return null;
+        }
+
+        CalendarGrid grid = new CalendarGrid(toLong(data.get("version")));
+        for (Map<String, Object> row : (List<Map<String, Object>>) data.get("days")) {
+            grid.days.add(new Day((int) toLong(row.get("index")), (String) row.get("date"),
+                    (String) row.get("classes"), (WebElement) row.get("element")));
+        }
+        grid.readLanes((List<Map<String, Object>>) data.get("lanes"));
+        grid.indexSegments((List<Map<String, Object>>) data.get("events"), grid.eventsByDay);
+        grid.indexSegments((List<Map<String, Object>>) data.get("nonBusiness"), grid.nonBusinessByDay);
+
+        logger.info("Calendar snapshot: {} days, {} slots, {} events in {} ms", grid.days.size(), grid.slots.size(),
+                grid.eventsByDay.values().stream().mapToInt(Map::size).sum(), System.currentTimeMillis() - start);
+        return grid;
+    }
+
+    /**
+     * Check whether the calendar DOM has changed since the snapshot was taken
+     * @param driver WebDriver instance
+     * @return true if the snapshot no longer matches the page
+     */
+    public boolean isStale(WebDriver driver) {
+        Object current = ((JavascriptExecutor) driver).executeScript(VERSION_SCRIPT);
+        return toLong(current) != version;
+    }
+
+    public List<Day> getDays() {
+        return Collections.unmodifiableList(days);
+    }
+
+    /**
+     * Get the bookable (major) time slots, one per time, in time order
+     */
+    public List<Slot> getSlots() {
+        return Collections.unmodifiableList(slots);
+    }
+
+    /**
+     * Check whether a slot is free on a day: no event and no non-business period overlaps it
+     * @param day Day column
+     * @param slot Time slot
+     * @return true if nothing overlaps the slot
+     */
+    public boolean isFree(Day day, Slot slot) {
+        return getEventsOverlapping(day, slot.time, slot.end).isEmpty()
+                && overlapping(nonBusinessByDay.get(day.index), slot.time, slot.end).isEmpty();
+    }
+
+    /**
+     * Get the events on a day that overlap a time range
+     * @param day Day column
+     * @param start Range start (inclusive)
+     * @param end Range end (exclusive)
+     * @return Overlapping events
+     */
+    public List<Interval> getEventsOverlapping(Day day, LocalTime start, LocalTime end) {
+        return overlapping(eventsByDay.get(day.index), start, end);
+    }
+
+    private static List<Interval> overlapping(NavigableMap<LocalTime, List<Interval>> byStart, LocalTime start, LocalTime end) {
+        List<Interval> result = new ArrayList<>();
+        if (byStart == null) {
+            return result;
+        }
+        // Only intervals starting before the range end can overlap it
+        for (List<Interval> intervals : byStart.headMap(end, false).values()) {
+            for (Interval interval : intervals) {
+                if (interval.end.isAfter(start)) {
+                    result.add(interval);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void readLanes(List<Map<String, Object>> rows) {
+        Map<LocalTime, Lane> byTime = new LinkedHashMap<>();
+        for (Map<String, Object> row : rows) {
+            String time = (String) row.get("time");
+            if (time == null || time.isEmpty()) {
+                continue;
+            }
+            LocalTime localTime = LocalTime.parse(time);
+            if (!byTime.containsKey(localTime)) {
+                byTime.put(localTime, new Lane(localTime, toDouble(row.get("top")), toDouble(row.get("bottom")),
+                        (String) row.get("classes"), Boolean.TRUE.equals(row.get("displayed")), (WebElement) row.get("element")));
+            }
+        }
+        lanes.addAll(byTime.values());
+        lanes.sort(Comparator.comparingDouble(lane -> lane.top));
+
+        List<Lane> major = new ArrayList<>();
+        for (Lane lane : lanes) {
+            if (lane.classes == null || !lane.classes.contains("fc-timegrid-slot-minor")) {
+                major.add(lane);
+            }
+        }
+        for (int i = 0; i < major.size(); i++) {
+            Lane lane = major.get(i);
+            LocalTime end = i + 1 < major.size() ? major.get(i + 1).time : toTime(lane.bottom);
+            slots.add(new Slot(lane.time, end, lane.classes, lane.displayed, lane.element));
+        }
+    }
+
+    private void indexSegments(List<Map<String, Object>> rows, Map<Integer, NavigableMap<LocalTime, List<Interval>>> index) {
+        for (Map<String, Object> row : rows) {
+            int dayIndex = (int) toLong(row.get("day"));
+            Interval interval = new Interval(dayIndex, toTime(toDouble(row.get("top"))),
+                    toTime(toDouble(row.get("bottom"))), (String) row.get("text"));
+            index.computeIfAbsent(dayIndex, day -> new TreeMap<>())
+                    .computeIfAbsent(interval.start, time -> new ArrayList<>())
+                    .add(interval);
+        }
+    }
+
+    /**
+     * Convert a vertical position in the time grid to a time by interpolating within its lane
+     */
+    private LocalTime toTime(double y) {
+        if (lanes.isEmpty()) {
+            return LocalTime.MIDNIGHT;
+        }
+        for (int i = 0; i < lanes.size(); i++) {
+            Lane lane = lanes.get(i);
+            if (y < lane.bottom || i == lanes.size() - 1) {
+                long laneSeconds = i + 1 < lanes.size()
+                        ? lanes.get(i + 1).time.toSecondOfDay() - lane.time.toSecondOfDay()
+                        : lane.time.toSecondOfDay() - lanes.get(Math.max(0, i - 1)).time.toSecondOfDay();
+                double height = Math.max(1, lane.bottom - lane.top);
+                double fraction = Math.max(0, (y - lane.top) / height);
+                long seconds = lane.time.toSecondOfDay() + Math.round(fraction * laneSeconds);
+                return LocalTime.ofSecondOfDay(Math.min(seconds, LocalTime.MAX.toSecondOfDay()));
+            }
+        }
+        return lanes.get(lanes.size() - 1).time;
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : -1;
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    /**
+     * Day column of the week view
+     */
+    public static class Day {
+        public final int index;
+        public final String date;
+        public final String classes;
+        public final WebElement element;
+
+        private Day(int index, String date, String classes, WebElement element) {
+            this.index = index;
+            this.date = date;
+            this.classes = classes;
+            this.element = element;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Day{index=%d, date='%s'}", index, date);
+        }
+    }
+
+    /**
+     * Bookable time slot row; the same row is shared by every day column
+     */
+    public static class Slot {
+        public final LocalTime time;
+        public final LocalTime end;
+        public final String classes;
+        public final boolean displayed;
+        public final WebElement element;
+
+        private Slot(LocalTime time, LocalTime end, String classes, boolean displayed, WebElement element) {
+            this.time = time;
+            this.end = end;
+            this.classes = classes;
+            this.displayed = displayed;
+            this.element = element;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Slot{time=%s, end=%s}", time, end);
+        }
+    }
+
+    /**
+     * Existing event or non-business period on a day
+     */
+    public static class Interval {
+        public final int dayIndex;
+        public final LocalTime start;
+        public final LocalTime end;
+        public final String text;
+
+        private Interval(int dayIndex, LocalTime start, LocalTime end, String text) {
+            this.dayIndex = dayIndex;
+            this.start = start;
+            this.end = end;
+            this.text = text;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Interval{day=%d, %s-%s, '%s'}", dayIndex, start, end, text);
+        }
+    }
+
+    private static class Lane {
+        private final LocalTime time;
+        private final double top;
+        private final double bottom;
+        private final String classes;
+        private final boolean displayed;
+        private final WebElement element;
+
+        private Lane(LocalTime time, double top, double bottom, String classes, boolean displayed, WebElement element) {
+            this.time = time;
+            this.top = top;
+            this.bottom = bottom;
+            this.classes = classes;
+            this.displayed = displayed;
+            this.element = element;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.carservice.automation.pages.backoffice;
 
 import com.carservice.automation.base.BasePage;
+import com.carservice.automation.selectors.LocatorRegistry;
 import com.carservice.automation.utils.AllureUtils;
+import com.carservice.automation.utils.SelfHealingElement;
 import io.qameta.allure.Step;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -11,10 +13,12 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.testng.Assert;
 import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Objects;
 
 import static com.carservice.automation.utils.InterventionConstants.*;
 
@@ -26,11 +30,32 @@ public class InterventionsPage extends BasePage {
 
     private static final Logger logger = LogManager.getLogger(InterventionsPage.class);
 
+    // Format of FullCalendar's data-time attribute, used to locate the slot again
+    private static final DateTimeFormatter DATA_TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    // Card fields use the same relative XPaths as the per-card lookups; status is the card's status badge if it has one
+    private static final String READ_CARDS_SCRIPT =
+            "var first = function (xpath, context) {" +
+            "  return document.evaluate(xpath, context, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "};" +
+            "var text = function (el) { return el ? (el.innerText || el.textContent).trim() : null; };" +
+            "var cards = document.evaluate(arguments[0], document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "var result = [];" +
+            "for (var i = 0; i < cards.snapshotLength; i++) {" +
+            "  var card = cards.snapshotItem(i);" +
+            "  result.push({element: card, plate: text(first(arguments[1], card))," +
+            "               service: text(first(arguments[2], card)), mileage: text(first(arguments[3], card))," +
+            "               status: text(card.querySelector('[class*=\"status\"]'))});" +
+            "}" +
+            "return result;";
+
 
     // Expected appointment data
     private final String expectedPlateNumber;
     private final String expectedMileage;
 
+    private CalendarGrid calendarGrid;
+
     public InterventionsPage(WebDriver driver) {
         super(driver);
         this.expectedPlateNumber = configReader.getProperty("vehicle.plate.numero") + "TU" + configReader.getProperty("vehicle.plate.serie");
@@ -49,7 +74,7 @@ public class InterventionsPage extends BasePage {
 
         WebElement interventionsMenu = findElementWithMultipleSelectors(menuSelectors, "Interventions menu");
         clickElement(interventionsMenu, "Mes interventions menu");
-        waitForElement(LONG_WAIT);
+        waitForAppIdle();
 
         AllureUtils.attachScreenshot("Navigated to interventions page");
         logger.info("Successfully navigated to interventions page");
@@ -71,7 +96,7 @@ public class InterventionsPage extends BasePage {
 
         WebElement atlasOption = findElementWithMultipleSelectors(atlasSelectors, "Atlas Auto option");
         clickElement(atlasOption, "Atlas Auto agency");
-        waitForElement(MEDIUM_WAIT);
+        waitForAppIdle();
 
         AllureUtils.addParameter("Selected Agency", "Atlas Auto");
         logger.info("Atlas Auto agency selected successfully");
@@ -111,7 +136,7 @@ public class InterventionsPage extends BasePage {
             clickElement(serviceRadio, "Service Diagnostique radio button");
         }
 
-        waitForElement(2000);
+        waitForAppIdle();
         AllureUtils.addParameter("Selected Service", "Service Diagnostique");
         logger.info("Service Diagnostique filter selected successfully");
     }
@@ -120,18 +145,15 @@ public class InterventionsPage extends BasePage {
     public WebElement findTargetInterventionCard() {
         logger.info("Finding target intervention card for scheduling");
 
-        waitForElement(MEDIUM_WAIT);
-        List<WebElement> appointmentCards = driver.findElements(By.xpath(APPOINTMENT_CARDS_XPATH));
-        logger.info("Found {} appointment cards to check", appointmentCards.size());
+        waitForAppIdle();
+        Map<String, List<InterventionCard>> cardsByPlate = indexCardsByPlate(readInterventionCards());
 
-        for (int i = 0; i < appointmentCards.size(); i++) {
-            WebElement card = appointmentCards.get(i);
-            if (isTargetAppointment(card)) {
-                logger.info("Found target intervention card at index {}", i);
-                AllureUtils.addParameter("Target Card Index", String.valueOf(i));
-                AllureUtils.attachScreenshot("Target intervention card found");
-                return card;
-            }
+        InterventionCard target = findTargetCard(cardsByPlate);
+        if (target != null) {
+            logger.info("Found target intervention card at index {}", target.index);
+            AllureUtils.addParameter("Target Card Index", String.valueOf(target.index));
+            AllureUtils.attachScreenshot("Target intervention card found");
+            return target.element;
         }
 
         logger.warn("Target intervention card not found");
@@ -265,42 +287,105 @@ public class InterventionsPage extends BasePage {
         logger.info("Verifying appointment exists in interventions list");
 
         waitForElement(LONG_WAIT);
-        List<WebElement> appointmentCards = driver.findElements(By.xpath(APPOINTMENT_CARDS_XPATH));
-        logger.info("Found {} appointment cards", appointmentCards.size());
+        List<InterventionCard> cards = readInterventionCards();
 
-        if (appointmentCards.isEmpty()) {
+        if (cards.isEmpty()) {
             logger.warn("No appointment cards found");
             return false;
         }
 
-        return appointmentCards.stream().anyMatch(this::isTargetAppointment);
+        return findTargetCard(indexCardsByPlate(cards)) != null;
+    }
+
+    /**
+     * Read every appointment card in a single script call
+     * @return Cards in page order with their plate, service, mileage and status
+     */
+    public List<InterventionCard> readInterventionCards() {
+        long start = System.currentTimeMillis();
+        List<Map<String, Object>> rows = readCardRows();
+
+        List<InterventionCard> cards = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Map<String, Object> row = rows.get(i);
+            InterventionCard card = new InterventionCard();
+            card.index = i;
+            card.plate = (String) row.get("plate");
+            card.service = (String) row.get("service");
+            card.mileage = (String) row.get("mileage");
+            card.status = (String) row.get("status");
+            // Cards come and go as appointments change, so a stale card is found again by its content, not its position
+            String plate = card.plate;
+            String mileage = card.mileage;
+            card.element = SelfHealingElement.wrap("intervention card", () -> findCardElement(plate, mileage),
+                    (WebElement) row.get("element"));
+            cards.add(card);
+        }
+        logger.info("Read {} appointment cards in {} ms", cards.size(), System.currentTimeMillis() - start);
+        return cards;
     }
 
     // Private helper methods
 
-    private boolean isTargetAppointment(WebElement card) {
-        try {
-            WebElement plateElement = card.findElement(By.xpath(PLATE_NUMBER_XPATH));
-            String plateNumber = plateElement.getText().trim();
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> readCardRows() {
+        return (List<Map<String, Object>>) jsExecutor.executeScript(READ_CARDS_SCRIPT,
+                APPOINTMENT_CARDS_XPATH, PLATE_NUMBER_XPATH, SERVICE_TYPE_XPATH, MILEAGE_XPATH);
+    }
 
-            if (!plateNumber.contains(expectedPlateNumber)) {
-                return false;
+    /**
+     * Find the card with a plate and mileage again after it went stale
+     * @return Card element, or null if no card or more than one card matches
+     */
+    private WebElement findCardElement(String plate, String mileage) {
+        List<WebElement> matches = new ArrayList<>();
+        for (Map<String, Object> row : readCardRows()) {
+            if (Objects.equals(plate, row.get("plate")) && Objects.equals(mileage, row.get("mileage"))) {
+                matches.add((WebElement) row.get("element"));
             }
+        }
+        if (matches.size() != 1) {
+            logger.warn("Cannot re-locate card with plate {} and mileage {}: {} matching cards", plate, mileage, matches.size());
+            return null;
+        }
+        return matches.get(0);
+    }
 
-            List<WebElement> serviceElements = card.findElements(By.xpath(SERVICE_TYPE_XPATH));
-            if (serviceElements.isEmpty()) {
-                return false;
+    /**
+     * Index cards by plate with whitespace removed, so the target lookup is a map access
+     */
+    private Map<String, List<InterventionCard>> indexCardsByPlate(List<InterventionCard> cards) {
+        Map<String, List<InterventionCard>> cardsByPlate = new HashMap<>();
+        for (InterventionCard card : cards) {
+            if (card.plate != null) {
+                cardsByPlate.computeIfAbsent(normalizePlate(card.plate), plate -> new ArrayList<>()).add(card);
             }
+        }
+        return cardsByPlate;
+    }
 
-            WebElement mileageElement = card.findElement(By.xpath(MILEAGE_XPATH));
-            String mileageText = mileageElement.getText().trim();
-
-            return mileageText.contains(expectedMileage);
-
-        } catch (Exception e) {
-            logger.debug("Error checking appointment card: {}", e.getMessage());
-            return false;
+    private InterventionCard findTargetCard(Map<String, List<InterventionCard>> cardsByPlate) {
+        String expectedPlate = normalizePlate(expectedPlateNumber);
+        List<InterventionCard> candidates = cardsByPlate.get(expectedPlate);
+        if (candidates == null) {
+            // Plates rendered with extra text around the number still match, as before
+            candidates = new ArrayList<>();
+            for (Map.Entry<String, List<InterventionCard>> entry : cardsByPlate.entrySet()) {
+                if (entry.getKey().contains(expectedPlate)) {
+                    candidates.addAll(entry.getValue());
+                }
+            }
+        }
+        for (InterventionCard card : candidates) {
+            if (card.service != null && card.mileage != null && card.mileage.contains(expectedMileage)) {
+                return card;
+            }
         }
+        return null;
+    }
+
+    private static String normalizePlate(String plate) {
+        return plate.replaceAll("\\s+", "");
     }
 
     private void scrollToWorkingHours() {
@@ -326,36 +411,27 @@ public class InterventionsPage extends BasePage {
         LocalTime currentTime = LocalTime.now();
 
         try {
-            List<WebElement> dayColumns = driver.findElements(By.xpath(DAY_COLUMNS_XPATH));
-            logger.info("Found {} day columns in calendar", dayColumns.size());
+            CalendarGrid grid = getCalendarGrid();
+            if (grid == null) {
+                logger.warn("No calendar displayed");
+                return availableSlots;
+            }
+            logger.info("Found {} day columns in calendar", grid.getDays().size());
 
-            for (int dayIndex = 0; dayIndex < dayColumns.size(); dayIndex++) {
-                WebElement dayColumn = dayColumns.get(dayIndex);
-                DayInfo dayInfo = extractDayInfoFromColumn(dayColumn, dayIndex);
+            for (CalendarGrid.Day day : grid.getDays()) {
+                DayInfo dayInfo = toDayInfo(day);
 
-                if (dayInfo == null || isWeekendDay(dayInfo)) {
+                if (isWeekendDay(dayInfo)) {
                     continue;
                 }
 
-                List<WebElement> timeSlotsForDay = getTimeSlotsForDay();
-
-                for (WebElement slot : timeSlotsForDay) {
-                    String timeStr = slot.getAttribute("data-time");
-                    if (timeStr == null) continue;
-
-                    try {
-                        LocalTime slotTime = LocalTime.parse(timeStr);
-
-                        if (isSlotValid(slotTime, dayInfo, currentTime, slot)) {
-                            CalendarSlot calendarSlot = createCalendarSlot(slot, timeStr, dayInfo);
-                            availableSlots.add(calendarSlot);
-                            logger.info("Found available time slot: {} on {} ({})",
-                                    calendarSlot.time, calendarSlot.dayName, calendarSlot.dateStr);
-                            return availableSlots; // Return first available slot
-                        }
-
-                    } catch (Exception e) {
-                        logger.debug("Error processing time slot {} on {}: {}", timeStr, dayInfo.dayName, e.getMessage());
+                for (CalendarGrid.Slot slot : grid.getSlots()) {
+                    if (isSlotValid(slot, dayInfo, currentTime) && grid.isFree(day, slot)) {
+                        CalendarSlot calendarSlot = createCalendarSlot(slot, dayInfo);
+                        availableSlots.add(calendarSlot);
+                        logger.info("Found available time slot: {} on {} ({})",
+                                calendarSlot.time, calendarSlot.dayName, calendarSlot.dateStr);
+                        return availableSlots; // Return first available slot
                     }
                 }
             }
@@ -368,37 +444,21 @@ public class InterventionsPage extends BasePage {
         return availableSlots;
     }
 
-    private List<WebElement> getTimeSlotsForDay() {
-        List<WebElement> timeSlotsForDay = new ArrayList<>();
-
-        try {
-            List<WebElement> availableTimeSlots = driver.findElements(By.xpath(ALL_TIME_SLOTS_XPATH));
-            logger.debug("Found {} major (bookable) time slots", availableTimeSlots.size());
-
-            Set<String> seenTimes = new HashSet<>();
-            for (WebElement slot : availableTimeSlots) {
-                String timeStr = slot.getAttribute("data-time");
-                if (timeStr != null && !timeStr.isEmpty() && !seenTimes.contains(timeStr)) {
-                    seenTimes.add(timeStr);
-                    timeSlotsForDay.add(slot);
-                    logger.debug("Added bookable time slot: {}", timeStr);
-                }
-            }
-
-            logger.debug("Found {} unique bookable time slots", timeSlotsForDay.size());
-
-        } catch (Exception e) {
-            logger.error("Error getting time slots: {}", e.getMessage());
+    /**
+     * Get the calendar snapshot, taking a new one if the calendar changed since the last one
+     * @return Calendar grid, or null if no calendar is displayed
+     */
+    public CalendarGrid getCalendarGrid() {
+        if (calendarGrid == null || calendarGrid.isStale(driver)) {
+            calendarGrid = CalendarGrid.snapshot(driver, DAY_COLUMNS_XPATH, ALL_TIME_SLOTS_XPATH);
         }
-
-        return timeSlotsForDay;
+        return calendarGrid;
     }
 
-    private boolean isSlotValid(LocalTime slotTime, DayInfo dayInfo, LocalTime currentTime, WebElement slot) {
-        return isWithinWorkingHours(slotTime) &&
-                isSlotClickableAndAvailable(slot) &&
-                !shouldSkipSlot(slotTime, dayInfo, currentTime) &&
-                isSlotAvailable(slot, slotTime.toString());
+    private boolean isSlotValid(CalendarGrid.Slot slot, DayInfo dayInfo, LocalTime currentTime) {
+        return isWithinWorkingHours(slot.time) &&
+                isSlotClickable(slot) &&
+                !shouldSkipSlot(slot.time, dayInfo, currentTime);
     }
 
     private boolean isWithinWorkingHours(LocalTime slotTime) {
@@ -409,10 +469,10 @@ public class InterventionsPage extends BasePage {
         return "sunday".equals(dayInfo.dayType) || "saturday".equals(dayInfo.dayType);
     }
 
-    private CalendarSlot createCalendarSlot(WebElement slot, String timeStr, DayInfo dayInfo) {
+    private CalendarSlot createCalendarSlot(CalendarGrid.Slot slot, DayInfo dayInfo) {
         CalendarSlot calendarSlot = new CalendarSlot();
-        calendarSlot.element = slot;
-        calendarSlot.time = timeStr;
+        calendarSlot.element = slot.element;
+        calendarSlot.time = slot.time.format(DATA_TIME_FORMAT);
         calendarSlot.dayIndex = dayInfo.columnIndex;
         calendarSlot.dayName = dayInfo.dayName;
         calendarSlot.dayType = dayInfo.dayType;
@@ -420,60 +480,33 @@ public class InterventionsPage extends BasePage {
         return calendarSlot;
     }
 
-    private boolean isSlotClickableAndAvailable(WebElement slot) {
-        try {
-            if (!slot.isDisplayed() || !slot.isEnabled()) {
-                return false;
-            }
-
-            String classAttr = slot.getAttribute("class");
-            if (classAttr != null) {
-                return !classAttr.contains("disabled") &&
-                        !classAttr.contains("fc-non-business") &&
-                        !classAttr.contains("fc-past") &&
-                        !classAttr.contains("fc-timegrid-slot-minor");
-            }
-
-            return true;
-
-        } catch (Exception e) {
-            logger.debug("Error checking if slot is clickable: {}", e.getMessage());
+    private boolean isSlotClickable(CalendarGrid.Slot slot) {
+        if (!slot.displayed) {
             return false;
         }
-    }
 
-    private boolean isSlotAvailable(WebElement slot, String timeStr) {
-        try {
-            List<WebElement> events = driver.findElements(By.xpath(
-                    "//div[contains(@class, 'fc-timegrid-col-events')]//div[contains(@class, 'fc-event') and contains(@style, 'top')]"));
-            return events.isEmpty();
-        } catch (Exception e) {
-            logger.debug("Error checking slot availability for {}: {}", timeStr, e.getMessage());
-            return true;
+        String classAttr = slot.classes;
+        if (classAttr != null) {
+            return !classAttr.contains("disabled") &&
+                    !classAttr.contains("fc-non-business") &&
+                    !classAttr.contains("fc-past");
         }
-    }
-
-    private DayInfo extractDayInfoFromColumn(WebElement column, int columnIndex) {
-        try {
-            String classAttr = column.getAttribute("class");
-            String dataDate = column.getAttribute("data-date");
 
-            DayInfo dayInfo = new DayInfo();
-            dayInfo.columnIndex = columnIndex;
-            dayInfo.dateStr = dataDate;
-
-            if (classAttr != null) {
-                dayInfo.dayType = extractDayTypeFromClass(classAttr);
-                dayInfo.dayName = capitalizeDayType(dayInfo.dayType);
-                dayInfo.isToday = classAttr.contains("fc-day-today");
-            }
+        return true;
+    }
 
-            return dayInfo;
+    private DayInfo toDayInfo(CalendarGrid.Day day) {
+        DayInfo dayInfo = new DayInfo();
+        dayInfo.columnIndex = day.index;
+        dayInfo.dateStr = day.date;
 
-        } catch (Exception e) {
-            logger.debug("Error extracting day info from column: {}", e.getMessage());
-            return null;
+        if (day.classes != null) {
+            dayInfo.dayType = extractDayTypeFromClass(day.classes);
+            dayInfo.dayName = capitalizeDayType(dayInfo.dayType);
+            dayInfo.isToday = day.classes.contains("fc-day-today");
         }
+
+        return dayInfo;
     }
 
     private String extractDayTypeFromClass(String classAttr) {
@@ -719,7 +752,7 @@ public class InterventionsPage extends BasePage {
 
     private boolean isConfirmationModalPresent() {
         try {
-            WebElement modal = driver.findElement(By.xpath(CONFIRMATION_MODAL_XPATH));
+            WebElement modal = driver.findElement(LocatorRegistry.get(CONFIRMATION_MODAL_XPATH));
             return modal != null && modal.isDisplayed();
         } catch (Exception e) {
             return false;
@@ -736,7 +769,7 @@ public class InterventionsPage extends BasePage {
 
             for (String selector : dropTargetSelectors) {
                 try {
-                    List<WebElement> elements = driver.findElements(By.xpath(selector));
+                    List<WebElement> elements = driver.findElements(LocatorRegistry.get(selector));
                     if (!elements.isEmpty()) {
                         for (WebElement element : elements) {
                             String classAttr = element.getAttribute("class");
@@ -774,6 +807,24 @@ public class InterventionsPage extends BasePage {
         }
     }
 
+    /**
+     * Appointment card data read in one script call
+     */
+    public static class InterventionCard {
+        public WebElement element;
+        public int index;
+        public String plate;
+        public String service;
+        public String mileage;
+        public String status;
+
+        @Override
+        public String toString() {
+            return String.format("InterventionCard{index=%d, plate='%s', service='%s', mileage='%s', status='%s'}",
+                    index, plate, service, mileage, status);
+        }
+    }
+
     public static class CalendarSlot {
         public WebElement element;
         public String time;
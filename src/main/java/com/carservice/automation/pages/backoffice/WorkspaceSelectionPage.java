@@ -9,6 +9,9 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.testng.Assert;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Page Object class for Workspace Selection functionality
  */
@@ -38,17 +41,30 @@ public class WorkspaceSelectionPage extends BasePage {
     public void verifyWorkspacePageLoaded() {
         logger.info("Verifying workspace selection page is loaded");
 
-        WebElement titleElement = findElementWithWait(WORKSPACE_TITLE_XPATH);
-        Assert.assertNotNull(titleElement, "Workspace page title should be present");
+        Map<String, String> pageElements = new LinkedHashMap<>();
+        pageElements.put("Workspace page title", WORKSPACE_TITLE_XPATH);
+        pageElements.put("Start button", START_BUTTON_XPATH);
+
+        // Title and start button are read together, in one script call per poll
+        Map<String, ElementState> states;
+        try {
+            states = waitForCondition("workspace page elements present", webDriver -> {
+                Map<String, ElementState> read = readElements(pageElements);
+                return read.values().stream().allMatch(state -> state.present) ? read : null;
+            });
+        } catch (RuntimeException e) {
+            states = readElements(pageElements);
+        }
+        Assert.assertTrue(states.get("Workspace page title").present, "Workspace page title should be present");
 
         WebElement dropdown = findWorkspaceDropdown();
         Assert.assertNotNull(dropdown, "Workspace dropdown should be present");
 
-        WebElement startButton = findElementWithWait(START_BUTTON_XPATH);
-        Assert.assertNotNull(startButton, "Start button should be present");
+        ElementState startButton = states.get("Start button");
+        Assert.assertTrue(startButton.present, "Start button should be present");
 
         // Verify start button is initially disabled
-        Assert.assertFalse(startButton.isEnabled(), "Start button should be disabled initially");
+        Assert.assertFalse(startButton.enabled, "Start button should be disabled initially");
 
         AllureUtils.attachScreenshot("Workspace selection page loaded");
         AllureUtils.logStep("Workspace selection page verification completed");
@@ -140,20 +156,18 @@ public class WorkspaceSelectionPage extends BasePage {
     public void verifyWorkspaceDashboardLoaded() {
         logger.info("Verifying workspace dashboard is loaded");
 
-        // Check for dashboard elements
-        String[] dashboardSelectors = {
-                "//div[contains(@class, 'main-side-menu')]",
-                "//span[contains(text(), 'HAVAL')]",
-                "//nav[contains(@class, 'workspace-services')]"
-        };
+        // Check for dashboard elements, all of them in one script call per poll
+        Map<String, String> dashboardElements = new LinkedHashMap<>();
+        dashboardElements.put("Side menu", "//div[contains(@class, 'main-side-menu')]");
+        dashboardElements.put("Workspace name", "//span[contains(text(), 'HAVAL')]");
+        dashboardElements.put("Workspace services", "//nav[contains(@class, 'workspace-services')]");
 
-        boolean dashboardFound = false;
-        for (String selector : dashboardSelectors) {
-            WebElement element = findElementWithWait(selector);
-            if (element != null && element.isDisplayed()) {
-                dashboardFound = true;
-                break;
-            }
+        boolean dashboardFound;
+        try {
+            dashboardFound = waitForCondition("workspace dashboard displayed", webDriver ->
+                    readElements(dashboardElements).values().stream().anyMatch(state -> state.displayed));
+        } catch (RuntimeException e) {
+            dashboardFound = false;
         }
 
         Assert.assertTrue(dashboardFound, "Workspace dashboard should be loaded");
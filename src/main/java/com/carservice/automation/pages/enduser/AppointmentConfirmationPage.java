@@ -7,6 +7,9 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.testng.Assert;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Page Object class for Appointment Confirmation functionality
  */
@@ -65,10 +68,10 @@ public class AppointmentConfirmationPage extends BasePage {
     public void confirmAppointment() {
         logger.info("Confirming appointment");
 
-        waitForElement(2000);
+        waitForAppIdle();
         WebElement confirmButton = findElementWithWait(CONFIRM_BUTTON_XPATH);
         clickElement(confirmButton, "Confirm button");
-        waitForElement(2000);
+        waitForAppIdle();
 
         logger.info("Appointment confirmation clicked");
     }
@@ -174,15 +177,21 @@ public class AppointmentConfirmationPage extends BasePage {
      * @return Confirmation message text or empty string if not found
      */
     public String getConfirmationMessage() {
-        String[] selectors = {SUCCESS_TITLE_XPATH, SUCCESS_SUBTITLE_XPATH, CONGRATULATIONS_XPATH};
+        Map<String, String> messageElements = new LinkedHashMap<>();
+        messageElements.put("Success title", SUCCESS_TITLE_XPATH);
+        messageElements.put("Success subtitle", SUCCESS_SUBTITLE_XPATH);
+        messageElements.put("Congratulations", CONGRATULATIONS_XPATH);
 
-        for (String selector : selectors) {
-            String text = getElementText(selector);
-            if (!text.isEmpty()) {
-                return text;
-            }
+        // First non-empty text in the order above, all read in one script call per poll
+        try {
+            return waitForCondition("confirmation message text", webDriver -> readElements(messageElements).values().stream()
+                    .map(state -> state.text)
+                    .filter(text -> text != null && !text.isEmpty())
+                    .findFirst()
+                    .orElse(null));
+        } catch (RuntimeException e) {
+            logger.warn("Could not get confirmation message text: {}", e.getMessage());
+            return "";
         }
-
-        return "";
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.carservice.automation.pages.enduser;
 
 import com.carservice.automation.base.BasePage;
+import com.carservice.automation.selectors.LocatorRegistry;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
@@ -87,12 +88,12 @@ public class AppointmentFormPage extends BasePage {
     }
 
     /**
-     * Click the Next button
+     * Click the Next button and wait for the wizard's next step
+     * Fails immediately if a page other than the expected next step appears
      */
     public void clickNextButton() {
         logger.info("Clicking Next button");
-        WebElement nextButton = findElementWithWait(NEXT_BUTTON_XPATH);
-        clickElement(nextButton, "Service form next button");
+        BookingWizard.forDriver(driver).next();
     }
 
     /**
@@ -308,8 +309,8 @@ public class AppointmentFormPage extends BasePage {
                 WebElement uploadButton = findElementWithWait(UPLOAD_BUTTON_XPATH);
                 if (uploadButton != null) {
                     clickElement(uploadButton, "Upload button");
-                    waitForElement(1000);
-                    fileInput = findElementWithWait(FILE_INPUT_XPATH);
+                    fileInput = waitForCondition("file input present",
+                            ExpectedConditions.presenceOfElementLocated(LocatorRegistry.get(FILE_INPUT_XPATH)));
                 }
             }
 
@@ -319,7 +320,8 @@ public class AppointmentFormPage extends BasePage {
 
                 fileInput.sendKeys(absolutePath);
                 logger.info("File uploaded successfully using sendKeys");
-                waitForElement(2000);
+                waitForCondition("file attached to input",
+                        ExpectedConditions.attributeToBeNotEmpty(fileInput, "value"));
 
                 String inputValue = fileInput.getAttribute("value");
                 if (inputValue != null && !inputValue.isEmpty()) {
@@ -455,7 +457,7 @@ public class AppointmentFormPage extends BasePage {
                 clickElement(servicesDropdown, "Services dropdown");
 
                 // Wait for the dropdown panel to load
-                wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(DROPDOWN_PANEL_XPATH)));
+                wait.until(ExpectedConditions.visibilityOfElementLocated(LocatorRegistry.get(DROPDOWN_PANEL_XPATH)));
 
                 // Select each service
                 for (String service : services) {
@@ -489,7 +491,7 @@ public class AppointmentFormPage extends BasePage {
             logger.info("Selecting service: {}", serviceName);
 
             // Wait for dropdown options to be visible
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath(DROPDOWN_PANEL_XPATH)));
+            wait.until(ExpectedConditions.visibilityOfElementLocated(LocatorRegistry.get(DROPDOWN_PANEL_XPATH)));
 
             // Try full match first
             String serviceXPath = String.format(SERVICE_OPTION_XPATH, serviceName);
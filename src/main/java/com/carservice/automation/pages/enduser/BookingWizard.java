@@ -0,0 +1,196 @@
+package com.carservice.automation.pages.enduser;
+
+import com.carservice.automation.base.BasePage;
+import com.carservice.automation.exceptions.PageNotLoadedException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * End-user booking wizard modelled as a state machine
+ * Each step is recognised by a signature element; clicking Next waits for the next step's
+ * signature and fails as soon as a page that does not belong to the transition shows up
+ *
+ * There is one wizard per driver, obtained with {@link #forDriver(WebDriver)}, so the pages and
+ * the step definitions share the current step. The step is detected from the page only while it
+ * is unknown: before the first transition and after {@link #reset()}.
+ */
+public class BookingWizard extends BasePage {
+
+    private static final Logger logger = LogManager.getLogger(BookingWizard.class);
+
+    private static final String NEXT_BUTTON_XPATH = "//button[contains(@class, 'ot-button-primary') and (contains(., 'Next') or contains(., 'Suivant'))]";
+
+    // Indexes of the steps whose signature element is displayed
+    private static final String VISIBLE_STEPS_SCRIPT =
+            "var xpaths = arguments[0], visible = [];" +
+            "for (var i = 0; i < xpaths.length; i++) {" +
+            "  var el = document.evaluate(xpaths[i], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "  if (el && el.getClientRects().length > 0 && window.getComputedStyle(el).visibility !== 'hidden') { visible.push(i); }" +
+            "}" +
+            "return visible;";
+
+    /**
+     * Wizard steps in order, with the element that identifies each one
+     */
+    public enum Step {
+        VEHICLE_TYPE("//div[contains(@class, 'container-mat')]"),
+        IDENTIFICATION("//input[@maxlength='7']"),
+        SERVICE_FORM("//div[contains(@class, 'tab')]//p[contains(@class, 'tab-text')]"),
+        REPAIRER("//p[contains(@class, 'check-agency-title')]"),
+        DATE_TIME("//div[@role='gridcell' and contains(@class, 'ngb-dp-day')]"),
+        SUMMARY("//p[contains(@class, 'recap-title')]"),
+        CONFIRMATION("//p[contains(@class, 'title') and (contains(text(), 'Obtain your final receipt') or contains(text(), 'Obtenir votre reçu final'))]");
+
+        private final String signatureXpath;
+
+        Step(String signatureXpath) {
+            this.signatureXpath = signatureXpath;
+        }
+
+        public String getSignatureXpath() {
+            return signatureXpath;
+        }
+
+        /**
+         * Get the step the Next button leads to
+         * @throws IllegalStateException for the summary and confirmation steps, which have no Next button
+         */
+        public Step next() {
+            if (this == SUMMARY || this == CONFIRMATION) {
+                throw new IllegalStateException("No Next transition from " + this);
+            }
+            return values()[ordinal() + 1];
+        }
+    }
+
+    private static final List<String> SIGNATURES = Arrays.stream(Step.values())
+            .map(Step::getSignatureXpath)
+            .collect(Collectors.toList());
+
+    // Weak keys: quit drivers drop out on their own
+    private static final Map<WebDriver, BookingWizard> wizards = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private Step currentStep;
+
+    private BookingWizard(WebDriver driver) {
+        super(driver);
+    }
+
+    /**
+     * Get the wizard of a driver, creating it on first use
+     * @param driver WebDriver instance
+     * @return Wizard shared by everything driving this browser
+     */
+    public static BookingWizard forDriver(WebDriver driver) {
+        return wizards.computeIfAbsent(driver, BookingWizard::new);
+    }
+
+    /**
+     * Forget the current step, for a new booking started on a driver that may be reused
+     */
+    public void reset() {
+        currentStep = null;
+    }
+
+    /**
+     * Get the current step, detecting it from the page if no transition has been made yet
+     * @return Current step
+     */
+    public Step getCurrentStep() {
+        if (currentStep == null) {
+            currentStep = detectCurrentStep();
+        }
+        return currentStep;
+    }
+
+    /**
+     * Detect the step shown on the page
+     * @return Furthest step whose signature is displayed
+     * @throws PageNotLoadedException if no wizard step is displayed
+     */
+    public Step detectCurrentStep() {
+        List<Step> visible = getVisibleSteps();
+        if (visible.isEmpty()) {
+            throw new PageNotLoadedException("booking wizard (no step signature displayed)");
+        }
+        Step step = visible.get(visible.size() - 1);
+        logger.info("Booking wizard is on step {}", step);
+        return step;
+    }
+
+    /**
+     * Click Next and wait for the following step
+     * @return Step the wizard moved to
+     * @throws PageNotLoadedException if another page shows up or the next step does not appear
+     */
+    public Step next() {
+        Step from = getCurrentStep();
+        Step to = from.next();
+        logger.info("Booking wizard: {} -> {}", from, to);
+
+        WebElement nextButton = waitForElementToBeClickable(NEXT_BUTTON_XPATH);
+        clickElement(nextButton, "Next button on " + from);
+
+        awaitTransition(from, to);
+        currentStep = to;
+        return to;
+    }
+
+    /**
+     * Wait until the target step's signature is displayed
+     * @param from Step the transition starts from
+     * @param to Expected step
+     * @throws PageNotLoadedException if an unexpected step shows up or the target does not appear in time
+     */
+    private void awaitTransition(Step from, Step to) {
+        long start = System.currentTimeMillis();
+        try {
+            waitFor("wizard step " + to).until(webDriver -> {
+                List<Step> visible = getVisibleSteps();
+                if (visible.contains(to)) {
+                    return true;
+                }
+                checkForUnexpectedStep(from, to, visible);
+                return false;
+            });
+            logger.info("Reached {} in {} ms", to, System.currentTimeMillis() - start);
+        } catch (TimeoutException e) {
+            throw new PageNotLoadedException(to + " (still showing " + getVisibleSteps() + ")", e);
+        }
+    }
+
+    /**
+     * A step past the target means the wizard skipped ahead; an earlier step while neither end of
+     * the transition is displayed means it went back. Shared components of the source page may stay
+     * visible on the target, so earlier steps alone are not a failure.
+     */
+    private void checkForUnexpectedStep(Step from, Step to, List<Step> visible) {
+        for (Step step : visible) {
+            boolean skippedAhead = step.ordinal() > to.ordinal();
+            boolean wentBack = step.ordinal() < from.ordinal() && !visible.contains(from);
+            if (skippedAhead || wentBack) {
+                throw new PageNotLoadedException(to + " (unexpected step " + step + " displayed after Next on " + from + ")");
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Step> getVisibleSteps() {
+        List<Step> visible = new ArrayList<>();
+        for (Object index : (List<Object>) jsExecutor.executeScript(VISIBLE_STEPS_SCRIPT, SIGNATURES)) {
+            visible.add(Step.values()[((Number) index).intValue()]);
+        }
+        return visible;
+    }
+}
@@ -1,10 +1,14 @@
 package com.carservice.automation.pages.enduser;
 
 import com.carservice.automation.base.BasePage;
+import com.carservice.automation.selectors.LocatorRegistry;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.util.Map;
 
 /**
  * Page Object class for Repairer Selection functionality
@@ -18,7 +22,6 @@ public class RepairerSelectionPage extends BasePage {
     private static final String INFO_PANEL_XPATH = "//div[contains(@class, 'container-detail-agency')]";
     private static final String CLOSE_INFO_BUTTON_XPATH = "//img[contains(@src, 'icon-close-info.png')]";
     private static final String SELECT_REPAIRER_BUTTON_XPATH = "//p[contains(@class, 'check-agency-title') and (contains(text(), 'Select this repairer') or contains(text(), 'Sélectionner ce réparateur'))]/ancestor::div[contains(@class, 'check-agency')]";
-    private static final String NEXT_BUTTON_XPATH = "//button[contains(@class, 'ot-button-primary') and (contains(., 'Next') or contains(., 'Suivant'))]";
 
     // Date and time selection locators
     private static final String DATE_SELECTOR_BASE = "//div[@role='gridcell' and contains(@class, 'ngb-dp-day') and not(contains(@class, 'disabled'))]//div[text()='";
@@ -37,17 +40,13 @@ public class RepairerSelectionPage extends BasePage {
 
         WebElement infoButton = findElementWithWait(INFO_BUTTON_XPATH);
         clickElement(infoButton, "+ info button");
-        waitForElement(1000);
 
         // Verify info panel is displayed
-        WebElement infoPanel = findElementWithWait(INFO_PANEL_XPATH);
-        if (infoPanel == null) {
-            throw new RuntimeException("Repairer info panel should be displayed");
-        }
+        WebElement infoPanel = waitForCondition("repairer info panel visible",
+                ExpectedConditions.visibilityOfElementLocated(LocatorRegistry.get(INFO_PANEL_XPATH)));
 
         // Scroll within the info panel
         jsExecutor.executeScript("arguments[0].scrollTop = arguments[0].scrollHeight;", infoPanel);
-        waitForElement(1000);
 
         logger.info("Repairer information displayed successfully");
     }
@@ -60,7 +59,10 @@ public class RepairerSelectionPage extends BasePage {
 
         WebElement closeButton = findElementWithWait(CLOSE_INFO_BUTTON_XPATH);
         clickElement(closeButton, "Close info button");
-        waitForElement(500);
+        // Read in the page: invisibilityOfElementLocated waits the full implicit wait while the panel is gone
+        Map<String, String> infoPanel = Map.of("info panel", INFO_PANEL_XPATH);
+        waitForCondition("repairer info panel closed",
+                webDriver -> !readElements(infoPanel).get("info panel").displayed);
 
         logger.info("Repairer information panel closed successfully");
     }
@@ -71,22 +73,22 @@ public class RepairerSelectionPage extends BasePage {
     public void selectRepairer() {
         logger.info("Selecting repairer");
 
-        waitForElement(2000);
+        waitForAppIdle();
 
         WebElement selectRepairerButton = findElementWithWait(SELECT_REPAIRER_BUTTON_XPATH);
         clickElement(selectRepairerButton, "Select this repairer button");
-        waitForElement(1000);
+        waitForAppIdle();
 
         logger.info("Repairer selected successfully");
     }
 
     /**
-     * Click the Next button
+     * Click the Next button and wait for the wizard's next step
+     * Fails immediately if a page other than the expected next step appears
      */
     public void clickNextButton() {
         logger.info("Clicking Next button");
-        WebElement nextButton = findElementWithWait(NEXT_BUTTON_XPATH);
-        clickElement(nextButton, "Next button after repairer selection");
+        BookingWizard.forDriver(driver).next();
     }
 
     /**
@@ -7,6 +7,9 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.testng.Assert;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Page Object class for Vehicle Identification functionality
  */
@@ -68,6 +71,8 @@ public class VehicleIdentificationPage extends BasePage {
         logger.info("Clicking Make Appointment button");
         WebElement makeAppointmentBtn = findElementWithWait(MAKE_APPOINTMENT_BUTTON_XPATH);
         clickElement(makeAppointmentBtn, "Make an APPOINTMENT button");
+        // A new booking starts here; the driver may have run an earlier one
+        BookingWizard.forDriver(driver).reset();
     }
 
     /**
@@ -80,12 +85,12 @@ public class VehicleIdentificationPage extends BasePage {
     }
 
     /**
-     * Click the Next button
+     * Click the Next button and wait for the wizard's next step
+     * Fails immediately if a page other than the expected next step appears
      */
     public void clickNextButton() {
         logger.info("Clicking Next button");
-        WebElement nextButton = findElementWithWait(NEXT_BUTTON_XPATH);
-        clickElement(nextButton, "Next button");
+        BookingWizard.forDriver(driver).next();
     }
 
     /**
@@ -94,15 +99,20 @@ public class VehicleIdentificationPage extends BasePage {
     public void validateEmptyFieldsDisableButton() {
         logger.info("Testing empty fields validation");
 
-        WebElement serieInput = findElementWithWait(SERIE_INPUT_XPATH);
-        WebElement numeroInput = findElementWithWait(NUMERO_INPUT_XPATH);
-        WebElement chassisInput = findElementWithWait(CHASSIS_INPUT_XPATH);
         WebElement nextButton = findElementWithWait(NEXT_BUTTON_XPATH);
 
-        // Clear all fields
-        clearInput(serieInput);
-        clearInput(numeroInput);
-        clearInput(chassisInput);
+        // Wait until all inputs are rendered, one script call per poll
+        Map<String, String> inputXpaths = new LinkedHashMap<>();
+        inputXpaths.put("serie input", SERIE_INPUT_XPATH);
+        inputXpaths.put("numero input", NUMERO_INPUT_XPATH);
+        inputXpaths.put("chassis input", CHASSIS_INPUT_XPATH);
+        Map<String, ElementState> inputs = waitForCondition("vehicle identification inputs present", webDriver -> {
+            Map<String, ElementState> read = readElements(inputXpaths);
+            return read.values().stream().allMatch(state -> state.present) ? read : null;
+        });
+
+        // Clear natively so the form control sees the browser's own input events
+        inputs.values().forEach(input -> input.element.clear());
 
         waitForElement(300);
 
@@ -0,0 +1,396 @@
+package com.carservice.automation.selectors;
+
+import com.carservice.automation.utils.ConfigurationManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of precompiled locators.
+ *
+ * Each XPath string is turned into a {@link Locator} once and reused. When the XPath only uses
+ * constructs with an exact CSS equivalent (tag and descendant/child steps, attribute equality,
+ * presence, contains and starts-with, and their negations), the locator runs as a CSS selector,
+ * which browsers evaluate much faster than XPath; anything else (text(), positions, axes, or)
+ * stays XPath. Lookups are timed from the client, so a time includes the driver round trip.
+ * Lookups that find nothing also include any implicit wait, so they are counted separately and
+ * left out of the averages. The locators with the slowest successful lookups are logged at JVM exit.
+ * Configuration: locator.css.translation (default true), locator.report.size (default 10).
+ */
+public class LocatorRegistry {
+
+    private static final Logger logger = LogManager.getLogger(LocatorRegistry.class);
+
+    private static final Pattern TAG = Pattern.compile("\\*|[a-zA-Z][\\w-]*");
+    private static final Pattern ATTRIBUTE = Pattern.compile("@([a-zA-Z][\\w-]*)");
+    private static final Pattern EQUALS = Pattern.compile("@([a-zA-Z][\\w-]*)\\s*=\\s*('[^']*'|\"[^\"]*\")");
+    private static final Pattern FUNCTION = Pattern.compile("(contains|starts-with)\\(\\s*@([a-zA-Z][\\w-]*)\\s*,\\s*('[^']+'|\"[^\"]+\")\\s*\\)");
+    private static final Pattern NOT = Pattern.compile("not\\((.*)\\)");
+
+    private static final Map<String, Locator> locators = new ConcurrentHashMap<>();
+
+    private static volatile boolean hookRegistered;
+
+    /**
+     * Get the locator for an XPath, building it on first use
+     * @param xpath XPath expression
+     * @return Cached locator
+     */
+    public static Locator get(String xpath) {
+        Locator locator = locators.get(xpath);
+        if (locator == null) {
+            registerReportHook();
+            locator = locators.computeIfAbsent(xpath, Locator::new);
+        }
+        return locator;
+    }
+
+    /**
+     * Translate an XPath to an equivalent CSS selector
+     * @param xpath XPath expression
+     * @return CSS selector, or null if the XPath uses anything CSS cannot express exactly
+     */
+    public static String toCss(String xpath) {
+        String expression = xpath.trim();
+        if (expression.startsWith(".//")) {
+            expression = expression.substring(1);
+        }
+        if (!expression.startsWith("//")) {
+            return null;
+        }
+
+        StringBuilder css = new StringBuilder();
+        int pos = 0;
+        while (pos < expression.length()) {
+            String combinator;
+            if (expression.startsWith("//", pos)) {
+                combinator = " ";
+                pos += 2;
+            } else if (expression.charAt(pos) == '/') {
+                combinator = " > ";
+                pos += 1;
+            } else {
+                return null;
+            }
+
+            int stepEnd = findStepEnd(expression, pos);
+            if (stepEnd < 0) {
+                return null;
+            }
+            String step = translateStep(expression.substring(pos, stepEnd));
+            if (step == null) {
+                return null;
+            }
+            css.append(css.length() == 0 ? "" : combinator).append(step);
+            pos = stepEnd;
+        }
+        return css.length() == 0 ? null : css.toString();
+    }
+
+    /**
+     * Get all locators built so far
+     */
+    public static List<Locator> getLocators() {
+        return new ArrayList<>(locators.values());
+    }
+
+    /**
+     * Log the locators with the slowest average successful lookup, called at JVM exit
+     */
+    public static void writeReport() {
+        List<Locator> used = new ArrayList<>();
+        for (Locator locator : locators.values()) {
+            if (locator.lookups > 0) {
+                used.add(locator);
+            }
+        }
+        if (used.isEmpty()) {
+            return;
+        }
+        used.sort(Comparator.comparingDouble(Locator::getAverageMillis).reversed());
+
+        long css = used.stream().filter(Locator::isCss).count();
+        logger.info("📊 === LOCATOR REGISTRY: {} locators used, {} as CSS, {} as XPath ===", used.size(), css, used.size() - css);
+        used.stream()
+                .limit(ConfigurationManager.getIntProperty("locator.report.size", 10))
+                .forEach(locator -> logger.info("🐢 {} ms avg, {} ms max over {} hits; {} misses, {} ms avg - {}",
+                        Math.round(locator.getAverageMillis()), locator.maxHitNanos / 1_000_000, locator.hits,
+                        locator.misses, Math.round(locator.getAverageMissMillis()),
+                        locator.isCss() ? locator.css + "  (from " + locator.xpath + ")" : locator.xpath));
+    }
+
+    /**
+     * End of the step starting at pos: the next '/' outside predicates and quotes
+     */
+    private static int findStepEnd(String expression, int pos) {
+        int depth = 0;
+        char quote = 0;
+        for (int i = pos; i < expression.length(); i++) {
+            char c = expression.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '[' || c == '(') {
+                depth++;
+            } else if (c == ']' || c == ')') {
+                depth--;
+            } else if (c == '/' && depth == 0) {
+                return i;
+            }
+        }
+        return depth == 0 && quote == 0 ? expression.length() : -1;
+    }
+
+    private static String translateStep(String step) {
+        int bracket = step.indexOf('[');
+        String tag = bracket < 0 ? step : step.substring(0, bracket);
+        if (!TAG.matcher(tag).matches()) {
+            return null;
+        }
+
+        StringBuilder css = new StringBuilder("*".equals(tag) ? "" : tag);
+        String rest = bracket < 0 ? "" : step.substring(bracket);
+        for (String predicate : splitPredicates(rest)) {
+            if (predicate == null) {
+                return null;
+            }
+            for (String condition : splitTopLevel(predicate, " and ")) {
+                String translated = translateCondition(condition.trim());
+                if (translated == null) {
+                    return null;
+                }
+                css.append(translated);
+            }
+        }
+        return css.length() == 0 ? "*" : css.toString();
+    }
+
+    /**
+     * Split "[a][b]" into its predicates; a null entry means the text is not a predicate list
+     */
+    private static List<String> splitPredicates(String text) {
+        List<String> predicates = new ArrayList<>();
+        int start = -1;
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '[') {
+                if (depth++ == 0) {
+                    start = i + 1;
+                }
+            } else if (c == ']') {
+                if (--depth == 0) {
+                    predicates.add(text.substring(start, i));
+                }
+            } else if (depth == 0) {
+                predicates.add(null);
+                return predicates;
+            }
+        }
+        return predicates;
+    }
+
+    private static List<String> splitTopLevel(String text, String separator) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        char quote = 0;
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '(' || c == '[') {
+                depth++;
+            } else if (c == ')' || c == ']') {
+                depth--;
+            } else if (depth == 0 && text.startsWith(separator, i)) {
+                parts.add(text.substring(start, i));
+                start = i + separator.length();
+                i = start - 1;
+            }
+        }
+        parts.add(text.substring(start));
+        return parts;
+    }
+
+    private static String translateCondition(String condition) {
+        Matcher matcher = NOT.matcher(condition);
+        if (matcher.matches()) {
+            String inner = translateCondition(matcher.group(1).trim());
+            return inner == null ? null : ":not(" + inner + ")";
+        }
+
+        matcher = ATTRIBUTE.matcher(condition);
+        if (matcher.matches()) {
+            return "[" + matcher.group(1) + "]";
+        }
+
+        matcher = EQUALS.matcher(condition);
+        if (matcher.matches()) {
+            return "[" + matcher.group(1) + "=" + cssString(matcher.group(2)) + "]";
+        }
+
+        // Empty values are excluded by the pattern: contains(@a, '') is true even without the attribute
+        matcher = FUNCTION.matcher(condition);
+        if (matcher.matches()) {
+            String operator = "contains".equals(matcher.group(1)) ? "*=" : "^=";
+            return "[" + matcher.group(2) + operator + cssString(matcher.group(3)) + "]";
+        }
+        return null;
+    }
+
+    private static String cssString(String xpathLiteral) {
+        String value = xpathLiteral.substring(1, xpathLiteral.length() - 1);
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static void registerReportHook() {
+        if (hookRegistered) {
+            return;
+        }
+        synchronized (LocatorRegistry.class) {
+            if (!hookRegistered) {
+                Runtime.getRuntime().addShutdownHook(new Thread(LocatorRegistry::writeReport, "locator-registry-report"));
+                hookRegistered = true;
+            }
+        }
+    }
+
+    /**
+     * Precompiled locator that times its lookups
+     */
+    public static class Locator extends By {
+        private final String xpath;
+        private final String css;
+        private final By byXpath;
+        private final By byCss;
+        private final boolean scopedCss;
+
+        private long lookups;
+        private long hits;
+        private long hitNanos;
+        private long maxHitNanos;
+        private long misses;
+        private long missNanos;
+
+        private Locator(String xpath) {
+            this.xpath = xpath;
+            this.css = ConfigurationManager.getBooleanProperty("locator.css.translation", true) ? toCss(xpath) : null;
+            this.byXpath = By.xpath(xpath);
+            this.byCss = css == null ? null : By.cssSelector(css);
+            String trimmed = xpath.trim();
+            this.scopedCss = css != null && trimmed.startsWith(".//") && findStepEnd(trimmed, 3) == trimmed.length();
+            if (css != null) {
+                logger.debug("Locator {} runs as CSS {}", xpath, css);
+            }
+        }
+
+        public String getXpath() {
+            return xpath;
+        }
+
+        /**
+         * Get the CSS translation
+         * @return CSS selector, or null if the locator runs as XPath
+         */
+        public String getCss() {
+            return css;
+        }
+
+        public boolean isCss() {
+            return css != null;
+        }
+
+        /**
+         * Get the average time of lookups that found an element
+         */
+        public synchronized double getAverageMillis() {
+            return hits == 0 ? 0 : hitNanos / 1_000_000.0 / hits;
+        }
+
+        /**
+         * Get the average time of lookups that found nothing, implicit waits included
+         */
+        public synchronized double getAverageMissMillis() {
+            return misses == 0 ? 0 : missNanos / 1_000_000.0 / misses;
+        }
+
+        @Override
+        public WebElement findElement(SearchContext context) {
+            long start = System.nanoTime();
+            boolean found = false;
+            try {
+                WebElement element = context.findElement(byFor(context));
+                found = true;
+                return element;
+            } finally {
+                record(System.nanoTime() - start, found);
+            }
+        }
+
+        @Override
+        public List<WebElement> findElements(SearchContext context) {
+            long start = System.nanoTime();
+            List<WebElement> elements = null;
+            try {
+                elements = context.findElements(byFor(context));
+                return elements;
+            } finally {
+                record(System.nanoTime() - start, elements != null && !elements.isEmpty());
+            }
+        }
+
+        /**
+         * From an element, "//" still searches the whole document and CSS combinators may match
+         * ancestors outside the element, so only single-step ".//" locators use CSS there
+         */
+        private By byFor(SearchContext context) {
+            if (byCss == null || !(context instanceof WebDriver || scopedCss)) {
+                return byXpath;
+            }
+            return byCss;
+        }
+
+        private synchronized void record(long nanos, boolean found) {
+            lookups++;
+            if (found) {
+                hits++;
+                hitNanos += nanos;
+                maxHitNanos = Math.max(maxHitNanos, nanos);
+            } else {
+                misses++;
+                missNanos += nanos;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return byXpath.toString();
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.carservice.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Adaptive polling for WaitUtils waits.
+ *
+ * Instead of checking every 500 ms, a wait checks again almost immediately and then backs off
+ * exponentially (with jitter) up to a ceiling. The start delay and ceiling are tuned per
+ * condition from the latency observed in earlier waits on it: a condition that is usually met
+ * in 200 ms is polled every few tens of ms, one that takes several seconds is polled up to the
+ * ceiling. Conditions are keyed by their description (ExpectedConditions describe their
+ * locator) or, for lambdas, by the calling method.
+ *
+ * Every wait is recorded in {@link WaitBudget} against the running step.
+ * Poll counts are kept per condition and for the last wait of each thread, and the busiest
+ * conditions are logged at JVM exit. Timeouts come from {@link TimeoutPolicy} once a condition
+ * has a history; the timeout the wait was created with is the fallback.
+ * Configuration: wait.polling.adaptive (default true, false = fixed interval),
+ * wait.polling.initial.ms (default 50), wait.polling.max.ms (default 1000).
+ */
+public class AdaptivePolling {
+
+    private static final Logger logger = LogManager.getLogger(AdaptivePolling.class);
+
+    // FluentWait's usual interval, used for default waits when adaptive polling is off
+    private static final long FIXED_INTERVAL_MILLIS = 500;
+    private static final double MULTIPLIER = 1.5;
+    private static final double JITTER = 0.2;
+    // Weight of the newest observation in the latency average
+    private static final double LATENCY_WEIGHT = 0.3;
+
+    private static final Map<String, ConditionStats> stats = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Integer> lastPollCount = ThreadLocal.withInitial(() -> 0);
+
+    private static volatile boolean hookRegistered;
+
+    /**
+     * Create a wait that polls adaptively up to the configured ceiling
+     * @param driver WebDriver instance
+     * @param timeout Wait timeout
+     * @return WebDriverWait whose until() records latency and poll counts
+     */
+    public static WebDriverWait newWait(WebDriver driver, Duration timeout) {
+        return newWait(driver, timeout, 0);
+    }
+
+    /**
+     * Create a wait that polls adaptively
+     * @param driver WebDriver instance
+     * @param timeout Wait timeout
+     * @param maxIntervalMillis Longest delay between two checks (the fixed interval when adaptive
+     *                          polling is off), 0 for the configured ceiling
+     * @return WebDriverWait whose until() records latency and poll counts
+     */
+    public static WebDriverWait newWait(WebDriver driver, Duration timeout, long maxIntervalMillis) {
+        registerReportHook();
+        return new AdaptiveWait(driver, timeout, maxIntervalMillis, new BackoffSleeper());
+    }
+
+    /**
+     * Get the strategy for a condition, tuned from its observed latency
+     * @param conditionKey Condition description
+     * @param maxIntervalMillis Delay ceiling, 0 for the configured one
+     * @return Polling strategy
+     */
+    public static PollingStrategy strategyFor(String conditionKey, long maxIntervalMillis) {
+        if (!ConfigurationManager.getBooleanProperty("wait.polling.adaptive", true)) {
+            return PollingStrategy.fixed(maxIntervalMillis > 0 ? maxIntervalMillis : FIXED_INTERVAL_MILLIS);
+        }
+        long ceiling = ConfigurationManager.getIntProperty("wait.polling.max.ms", 1000);
+        if (maxIntervalMillis > 0) {
+            ceiling = Math.min(ceiling, maxIntervalMillis);
+        }
+        ConditionStats condition = stats.get(conditionKey);
+        if (condition == null || condition.met == 0) {
+            long initial = ConfigurationManager.getIntProperty("wait.polling.initial.ms", 50);
+            return PollingStrategy.exponentialBackoff(Math.min(initial, ceiling), ceiling, MULTIPLIER, JITTER);
+        }
+        // About ten checks over a typical wait, never slower than the ceiling
+        double latency = condition.averageLatencyMillis;
+        long initial = clamp(Math.round(latency / 10), 10, 250);
+        long max = clamp(Math.round(latency / 4), 50, ceiling);
+        return PollingStrategy.exponentialBackoff(Math.min(initial, max), max, MULTIPLIER, JITTER);
+    }
+
+    /**
+     * Get the number of condition checks the last wait on this thread made
+     */
+    public static int getLastPollCount() {
+        return lastPollCount.get();
+    }
+
+    /**
+     * Get the total number of condition checks made for a condition
+     * @param conditionKey Condition description
+     */
+    public static long getPollCount(String conditionKey) {
+        ConditionStats condition = stats.get(conditionKey);
+        return condition == null ? 0 : condition.polls;
+    }
+
+    /**
+     * Get the total number of condition checks made by all adaptive waits
+     */
+    public static long getTotalPolls() {
+        return stats.values().stream().mapToLong(condition -> condition.polls).sum();
+    }
+
+    /**
+     * Log the conditions that needed the most checks, called at JVM exit
+     */
+    public static void logReport() {
+        if (stats.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, ConditionStats>> entries = new ArrayList<>(stats.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, ConditionStats> entry) -> entry.getValue().polls).reversed());
+
+        logger.info("📊 === ADAPTIVE POLLING: {} waits, {} polls, {} conditions ===",
+                entries.stream().mapToLong(entry -> entry.getValue().waits).sum(), getTotalPolls(), entries.size());
+        entries.stream().limit(10).forEach(entry -> logger.info("🔁 {} - {} waits, {} polls, avg {} ms, {} timeouts",
+                entry.getKey(), entry.getValue().waits, entry.getValue().polls,
+                Math.round(entry.getValue().averageLatencyMillis), entry.getValue().waits - entry.getValue().met));
+    }
+
+    private static void record(String conditionKey, long elapsedMillis, int polls, boolean met) {
+        lastPollCount.set(polls);
+        stats.computeIfAbsent(conditionKey, key -> new ConditionStats()).record(elapsedMillis, polls, met);
+        logger.debug("Condition '{}' {} after {} ms and {} polls", conditionKey, met ? "met" : "timed out", elapsedMillis, polls);
+    }
+
+    private static String describe(Object condition) {
+        String description = String.valueOf(condition);
+        if (!description.contains("$$Lambda")) {
+            return description;
+        }
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> !frame.getClassName().startsWith("org.openqa.selenium."))
+                .filter(frame -> !frame.getClassName().startsWith(AdaptivePolling.class.getName()))
+                .filter(frame -> !(frame.getClassName().equals(WaitUtils.class.getName())
+                        && frame.getMethodName().equals("waitForCustomCondition")))
+                .findFirst()
+                .map(frame -> "condition in " + frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName())
+                .orElse("custom condition"));
+    }
+
+    private static long clamp(long value, long min, long max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static void registerReportHook() {
+        if (hookRegistered) {
+            return;
+        }
+        synchronized (AdaptivePolling.class) {
+            if (!hookRegistered) {
+                Runtime.getRuntime().addShutdownHook(new Thread(AdaptivePolling::logReport, "adaptive-polling-report"));
+                hookRegistered = true;
+            }
+        }
+    }
+
+    /**
+     * WebDriverWait that picks its polling strategy per condition and records the outcome
+     */
+    private static class AdaptiveWait extends WebDriverWait {
+        private Duration timeout;
+        private final long maxIntervalMillis;
+        private final BackoffSleeper sleeper;
+
+        private AdaptiveWait(WebDriver driver, Duration timeout, long maxIntervalMillis, BackoffSleeper sleeper) {
+            super(driver, timeout, Duration.ofMillis(maxIntervalMillis > 0 ? maxIntervalMillis : FIXED_INTERVAL_MILLIS),
+                    Clock.systemDefaultZone(), sleeper);
+            this.timeout = timeout;
+            this.maxIntervalMillis = maxIntervalMillis;
+            this.sleeper = sleeper;
+        }
+
+        @Override
+        public FluentWait<WebDriver> withTimeout(Duration timeout) {
+            this.timeout = timeout;
+            return super.withTimeout(timeout);
+        }
+
+        @Override
+        public <V> V until(Function<? super WebDriver, V> isTrue) {
+            String conditionKey = describe(isTrue);
+            // The timeout given to the wait is the fallback until the condition has a history
+            Duration effectiveTimeout = TimeoutPolicy.timeoutFor("wait " + conditionKey, timeout);
+            super.withTimeout(effectiveTimeout);
+            long start = System.currentTimeMillis();
+            sleeper.reset(strategyFor(conditionKey, maxIntervalMillis), start + effectiveTimeout.toMillis());
+            boolean met = false;
+            try {
+                V result = super.until(isTrue);
+                met = true;
+                TimeoutPolicy.record("wait " + conditionKey, start);
+                return result;
+            } finally {
+                record(conditionKey, System.currentTimeMillis() - start, sleeper.polls + 1, met);
+                WaitBudget.record("wait " + conditionKey, start);
+            }
+        }
+    }
+
+    /**
+     * Sleeps according to the current strategy instead of FluentWait's fixed interval
+     */
+    private static class BackoffSleeper implements Sleeper {
+        private PollingStrategy strategy = PollingStrategy.fixed(500);
+        private long deadline = Long.MAX_VALUE;
+        private int polls;
+
+        private void reset(PollingStrategy strategy, long deadline) {
+            this.strategy = strategy;
+            this.deadline = deadline;
+            this.polls = 0;
+        }
+
+        @Override
+        public void sleep(Duration ignored) throws InterruptedException {
+            polls++;
+            // Do not sleep far past the deadline; FluentWait checks it again after the sleep
+            long remaining = Math.max(1, deadline - System.currentTimeMillis());
+            Thread.sleep(Math.min(strategy.nextDelayMillis(polls), remaining));
+        }
+    }
+
+    /**
+     * Latency and poll counts for one condition
+     */
+    private static class ConditionStats {
+        private long waits;
+        private long met;
+        private long polls;
+        private double averageLatencyMillis;
+
+        private synchronized void record(long elapsedMillis, int pollCount, boolean conditionMet) {
+            waits++;
+            polls += pollCount;
+            if (conditionMet) {
+                averageLatencyMillis = met == 0 ? elapsedMillis
+                        : averageLatencyMillis + LATENCY_WEIGHT * (elapsedMillis - averageLatencyMillis);
+                met++;
+            }
+        }
+    }
+}
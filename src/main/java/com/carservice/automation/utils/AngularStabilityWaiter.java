@@ -0,0 +1,156 @@
+package com.carservice.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Waits for a modern Angular app to become idle using its testability API.
+ *
+ * Every root registered in window.getAllAngularTestabilities() is asked to call back through
+ * whenStable, i.e. once its zone has no pending macrotasks (HTTP calls, timers) and no change
+ * detection is running. The wait is one executeAsyncScript call. Pages that are not Angular
+ * return immediately.
+ *
+ * Some apps never become stable (e.g. a polling setInterval inside the zone). When whenStable
+ * times out, the wait falls back to {@link DomQuietWaiter}. After several consecutive timeouts
+ * on a host, later waits on it go straight to that fallback for a while; a single slow request
+ * does not demote a host, and the demotion is lifted when it expires.
+ * Configuration: angular.stable.timeout.ms (default 5000), angular.stable.demote.after
+ * (consecutive timeouts, default 3), angular.stable.demote.seconds (default 300).
+ */
+public class AngularStabilityWaiter {
+
+    private static final Logger logger = LogManager.getLogger(AngularStabilityWaiter.class);
+
+    private static final String WHEN_STABLE_SCRIPT =
+            "var timeoutMs = arguments[0], callback = arguments[arguments.length - 1];" +
+            "if (!window.getAllAngularTestabilities) { callback({angular: false, stable: true}); return; }" +
+            "var testabilities = window.getAllAngularTestabilities(), start = performance.now(), done = false;" +
+            "var finish = function (stable) {" +
+            "  if (done) { return; }" +
+            "  done = true;" +
+            "  callback({angular: true, stable: stable, roots: testabilities.length," +
+            "            waited: Math.round(performance.now() - start)});" +
+            "};" +
+            "if (testabilities.length === 0) { finish(true); return; }" +
+            "var pending = testabilities.length;" +
+            "var timer = setTimeout(function () { finish(false); }, timeoutMs);" +
+            "testabilities.forEach(function (testability) {" +
+            "  testability.whenStable(function () {" +
+            "    if (--pending === 0) { clearTimeout(timer); finish(true); }" +
+            "  });" +
+            "});";
+
+    private static final Map<String, Integer> consecutiveTimeouts = new ConcurrentHashMap<>();
+    // Host -> System.currentTimeMillis() at which the demotion expires
+    private static final Map<String, Long> demotedHosts = new ConcurrentHashMap<>();
+
+    /**
+     * Wait for the app to be idle using the configured timeout
+     * @param driver WebDriver instance
+     * @return true if Angular reported stable (or the page is not Angular), false if the fallback was used
+     */
+    public static boolean waitForStable(WebDriver driver) {
+        return waitForStable(driver, ConfigurationManager.getIntProperty("angular.stable.timeout.ms", 5000));
+    }
+
+    /**
+     * Wait for every Angular root on the page to be stable
+     * @param driver WebDriver instance
+     * @param timeoutMillis Maximum time to wait for whenStable
+     * @return true if Angular reported stable (or the page is not Angular), false if the fallback was used
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean waitForStable(WebDriver driver, int timeoutMillis) {
+        // Only costs a round trip once some host has been demoted
+        if (!demotedHosts.isEmpty() && isDemoted(getHost(driver))) {
+            waitForDomQuietFallback(driver, timeoutMillis);
+            return false;
+        }
+
+        // Keep the in-page timer below the session script timeout so the callback always wins
+        long scriptTimeoutMillis = driver.manage().timeouts().getScriptTimeout().toMillis();
+        long inPageTimeout = Math.max(100, Math.min(timeoutMillis, scriptTimeoutMillis - 500));
+
+        Map<String, Object> state;
+        try {
+            state = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(WHEN_STABLE_SCRIPT, inPageTimeout);
+        } catch (JavascriptException | ScriptTimeoutException e) {
+            // Navigation replaced the document while waiting
+            logger.debug("Angular stability wait interrupted: {}", e.getMessage());
+            waitForDomQuietFallback(driver, timeoutMillis);
+            return false;
+        }
+
+        if (Boolean.TRUE.equals(state.get("stable"))) {
+            if (!consecutiveTimeouts.isEmpty()) {
+                String host = getHost(driver);
+                if (host != null) {
+                    consecutiveTimeouts.remove(host);
+                }
+            }
+            if (Boolean.TRUE.equals(state.get("angular"))) {
+                logger.debug("Angular stable after {} ms ({} roots)", state.get("waited"), state.get("roots"));
+            }
+            return true;
+        }
+
+        String host = getHost(driver);
+        int timeouts = host == null ? 1 : consecutiveTimeouts.merge(host, 1, Integer::sum);
+        int demoteAfter = Math.max(1, ConfigurationManager.getIntProperty("angular.stable.demote.after", 3));
+        if (host != null && timeouts >= demoteAfter) {
+            int demoteSeconds = ConfigurationManager.getIntProperty("angular.stable.demote.seconds", 300);
+            demotedHosts.put(host, System.currentTimeMillis() + demoteSeconds * 1000L);
+            consecutiveTimeouts.remove(host);
+            logger.warn("Angular did not become stable within {} ms on {} ({} times in a row), using DOM quiet detection for this host for {}s",
+                    inPageTimeout, host, timeouts, demoteSeconds);
+        } else {
+            logger.warn("Angular did not become stable within {} ms on {} ({}/{} before switching to DOM quiet detection)",
+                    inPageTimeout, host, timeouts, demoteAfter);
+        }
+        waitForDomQuietFallback(driver, timeoutMillis);
+        return false;
+    }
+
+    private static boolean isDemoted(String host) {
+        if (host == null) {
+            return false;
+        }
+        Long expiresAt = demotedHosts.get(host);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() < expiresAt) {
+            return true;
+        }
+        if (demotedHosts.remove(host, expiresAt)) {
+            logger.info("Demotion of {} expired, trying Angular whenStable again", host);
+        }
+        return false;
+    }
+
+    private static void waitForDomQuietFallback(WebDriver driver, int timeoutMillis) {
+        try {
+            DomQuietWaiter.awaitQuiet(driver, Math.max(1, (timeoutMillis + 999) / 1000));
+        } catch (TimeoutException e) {
+            logger.debug("DOM quiet fallback timed out: {}", e.getMessage());
+        }
+    }
+
+    private static String getHost(WebDriver driver) {
+        try {
+            return URI.create(driver.getCurrentUrl()).getHost();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
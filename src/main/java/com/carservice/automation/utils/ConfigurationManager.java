@@ -3,6 +3,9 @@ package com.carservice.automation.utils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 /**
  * Centralized configuration manager for step definitions
  * Provides consistent access to configuration properties across all step definitions
@@ -165,6 +168,21 @@ public class ConfigurationManager {
     public static boolean useFastPageLoadDetection() {
         return getBooleanProperty("fast.page.load", true);
     }
+
+    /**
+     * Get whether to run without implicit waits, with a wait budget per Cucumber step
+     */
+    public static boolean isStrictWaitMode() {
+        return Boolean.parseBoolean(getSystemPropertyOrConfig("wait.strict", "wait.strict", "false"));
+    }
+    /**
+     * Get the directory for data kept between runs (driver manifest, statistics)
+     */
+    public static Path getFrameworkCacheDir() {
+        String defaultDir = Paths.get(System.getProperty("user.home"), ".cache", "autoteam").toString();
+        return Paths.get(getSystemPropertyOrConfig("framework.cache.dir", "framework.cache.dir", defaultDir));
+    }
+
     /**
      * Get boolean property
      */
@@ -0,0 +1,176 @@
+package com.carservice.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+
+/**
+ * Push-based "DOM quiet" wait: blocks in the page until nothing has changed for a while.
+ *
+ * A tracker installed in the page records the time of the last DOM mutation (MutationObserver)
+ * and the number of fetch/XMLHttpRequest calls in flight. The wait itself is a single
+ * executeAsyncScript call that returns as soon as the document is complete, no request is in
+ * flight and no mutation has happened for the quiet window, so it ends within milliseconds of
+ * the page settling instead of at the next WebDriver poll.
+ *
+ * The tracker sees requests started after it was installed; call {@link #install(WebDriver)}
+ * right after a navigation to cover the page's own start-up requests.
+ * Default quiet window: dom.quiet.window.ms (500).
+ */
+public class DomQuietWaiter {
+
+    private static final Logger logger = LogManager.getLogger(DomQuietWaiter.class);
+
+    // Pause before retrying after a script error, e.g. while the document is unloading
+    private static final long RETRY_DELAY_MILLIS = 100;
+
+    /**
+     * Installs window.__autoteamQuiet once per document
+     */
+    static final String TRACKER_SCRIPT =
+            "if (!window.__autoteamQuiet) {" +
+            "  var q = window.__autoteamQuiet = {inflight: 0, requests: 0, mutations: 0, last: performance.now()};" +
+            "  var touch = function () { q.last = performance.now(); };" +
+            "  var started = function () { q.inflight++; q.requests++; touch(); };" +
+            "  var finished = function () { q.inflight = Math.max(0, q.inflight - 1); touch(); };" +
+            "  new MutationObserver(function (records) { q.mutations += records.length; touch(); })" +
+            "    .observe(document, {subtree: true, childList: true, attributes: true, characterData: true});" +
+            "  if (window.fetch) {" +
+            "    var originalFetch = window.fetch;" +
+            "    window.fetch = function () {" +
+            "      started();" +
+            "      try {" +
+            "        return originalFetch.apply(this, arguments).then(" +
+            "          function (response) { finished(); return response; }," +
+            "          function (error) { finished(); throw error; });" +
+            "      } catch (e) { finished(); throw e; }" +
+            "    };" +
+            "  }" +
+            "  var originalSend = XMLHttpRequest.prototype.send;" +
+            "  XMLHttpRequest.prototype.send = function () {" +
+            "    var done = false;" +
+            "    var end = function () { if (!done) { done = true; finished(); } };" +
+            "    started();" +
+            "    this.addEventListener('loadend', end);" +
+            "    try { return originalSend.apply(this, arguments); } catch (e) { end(); throw e; }" +
+            "  };" +
+            "}";
+
+    private static final String AWAIT_SCRIPT =
+            "var quietMs = arguments[0], timeoutMs = arguments[1], callback = arguments[arguments.length - 1];" +
+            TRACKER_SCRIPT +
+            "var q = window.__autoteamQuiet, start = performance.now();" +
+            "var check = function () {" +
+            "  var now = performance.now();" +
+            "  var idle = q.inflight === 0 && document.readyState === 'complete';" +
+            "  var quietFor = idle ? now - q.last : 0;" +
+            "  var state = {quiet: idle && quietFor >= quietMs, waited: Math.round(now - start)," +
+            "               inflight: q.inflight, requests: q.requests, mutations: q.mutations," +
+            "               readyState: document.readyState, quietFor: Math.round(quietFor)};" +
+            "  if (state.quiet || now - start >= timeoutMs) { callback(state); return; }" +
+            "  setTimeout(check, idle ? Math.max(10, quietMs - quietFor) : 50);" +
+            "};" +
+            "check();";
+
+    /**
+     * Install the mutation and request tracker in the current document
+     * @param driver WebDriver instance
+     */
+    public static void install(WebDriver driver) {
+        ((JavascriptExecutor) driver).executeScript(TRACKER_SCRIPT);
+    }
+
+    /**
+     * Wait until the DOM has been quiet for the configured window
+     * @param driver WebDriver instance
+     * @param timeoutSeconds Maximum wait
+     * @return Final tracker state
+     */
+    public static Map<String, Object> awaitQuiet(WebDriver driver, int timeoutSeconds) {
+        return awaitQuiet(driver, getDefaultQuietMillis(), timeoutSeconds);
+    }
+
+    /**
+     * Wait until the document is complete, no request is in flight and the DOM has not changed
+     * for the quiet window
+     * @param driver WebDriver instance
+     * @param quietMillis Required quiet window in milliseconds
+     * @param timeoutSeconds Maximum wait
+     * @return Final tracker state (waited, requests, mutations, ...)
+     * @throws TimeoutException if the page does not settle in time
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> awaitQuiet(WebDriver driver, int quietMillis, int timeoutSeconds) {
+        long start = System.currentTimeMillis();
+        try {
+            long deadline = start + timeoutSeconds * 1000L;
+
+            // A single async call cannot outlive the session's script timeout, so long waits are split
+            long scriptTimeoutMillis = driver.manage().timeouts().getScriptTimeout().toMillis();
+            long maxSliceMillis = Math.max(1000, scriptTimeoutMillis - 1000);
+
+            int roundTrips = 0;
+            Object lastState = null;
+            while (System.currentTimeMillis() < deadline) {
+                long sliceMillis = Math.min(deadline - System.currentTimeMillis(), maxSliceMillis);
+                roundTrips++;
+                try {
+                    Object state = ((JavascriptExecutor) driver).executeAsyncScript(AWAIT_SCRIPT, quietMillis, sliceMillis);
+                    if (state instanceof Map && Boolean.TRUE.equals(((Map<String, Object>) state).get("quiet"))) {
+                        logger.debug("DOM quiet for {} ms after {} ms ({} round trips): {}",
+                                quietMillis, System.currentTimeMillis() - start, roundTrips, state);
+                        return (Map<String, Object>) state;
+                    }
+                    lastState = state;
+                } catch (ScriptTimeoutException e) {
+                    lastState = e.getMessage();
+                } catch (JavascriptException e) {
+                    // The document is being replaced by a navigation; the next call installs a fresh tracker.
+                    // Back off briefly so an unloading document is not hammered until the deadline
+                    lastState = e.getMessage();
+                    try {
+                        Thread.sleep(Math.max(0, Math.min(RETRY_DELAY_MILLIS, deadline - System.currentTimeMillis())));
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+
+            throw new TimeoutException("DOM not quiet for " + quietMillis + " ms within " + timeoutSeconds
+                    + "s, last state: " + lastState);
+        } finally {
+            WaitBudget.record("dom quiet", start);
+        }
+    }
+
+    /**
+     * Run a single bounded quiet check, for measuring rather than waiting
+     * @param driver WebDriver instance
+     * @param quietMillis Required quiet window in milliseconds
+     * @param timeoutMillis Maximum time the check may block
+     * @return Tracker state when the check ended, or null if the document changed during the check
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> probeQuiet(WebDriver driver, int quietMillis, long timeoutMillis) {
+        try {
+            Object state = ((JavascriptExecutor) driver).executeAsyncScript(AWAIT_SCRIPT, quietMillis, timeoutMillis);
+            return state instanceof Map ? (Map<String, Object>) state : null;
+        } catch (JavascriptException | ScriptTimeoutException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get the configured quiet window
+     */
+    public static int getDefaultQuietMillis() {
+        return ConfigurationManager.getIntProperty("dom.quiet.window.ms", 500);
+    }
+}
@@ -2,17 +2,14 @@ package com.carservice.automation.utils;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import org.openqa.selenium.support.ui.ExpectedCondition;
-import org.openqa.selenium.By;
-
-import java.time.Duration;
 
 /**
  * Fast and lean page load detection
  * Moves on as soon as page is ready, no over-waiting
+ *
+ * Every check is a {@link ReadinessProbe}, so each poll is a single script call. Timeouts are
+ * learned per page by {@link TimeoutPolicy}; the values below apply to pages without history.
  */
 public class FastPageLoadDetector {
 
@@ -29,66 +26,16 @@ public class FastPageLoadDetector {
      * Fast page load detection with custom timeout
      */
     public static void waitForPageReady(WebDriver driver, int maxTimeoutSeconds) {
-        logger.info("⚡ Fast page load detection (max {}s)", maxTimeoutSeconds);
+        // Keyed once: the URL may change during the wait, and the sample belongs to the page the wait began on
+        String timeoutKey = TimeoutPolicy.pageKey(driver, "page ready");
+        int timeout = TimeoutPolicy.timeoutSecondsFor(timeoutKey, maxTimeoutSeconds);
+        logger.info("⚡ Fast page load detection (max {}s)", timeout);
         long startTime = System.currentTimeMillis();
 
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(maxTimeoutSeconds));
-
-            // Use a single comprehensive condition that checks everything at once
-            wait.until(new ExpectedCondition<Boolean>() {
-                @Override
-                public Boolean apply(WebDriver driver) {
-                    try {
-                        JavascriptExecutor js = (JavascriptExecutor) driver;
-
-                        // Check 1: Document ready
-                        String readyState = (String) js.executeScript("return document.readyState");
-                        if (!"complete".equals(readyState)) {
-                            logger.debug("❌ Document not ready: {}", readyState);
-                            return false;
-                        }
-
-                        // Check 2: Page has content (not blank/loading page)
-                        Long bodyHeight = (Long) js.executeScript("return document.body ? document.body.scrollHeight : 0");
-                        if (bodyHeight < 100) { // Page too small, likely still loading
-                            logger.debug("❌ Page content too small: {}px", bodyHeight);
-                            return false;
-                        }
-
-                        // Check 3: No loading indicators
-                        Boolean hasLoadingIndicators = (Boolean) js.executeScript(
-                                "var loadingElements = document.querySelectorAll('.loading, .spinner, .loader, [class*=\"loading\"], [class*=\"spinner\"]');" +
-                                        "return loadingElements.length > 0 && Array.from(loadingElements).some(el => el.offsetParent !== null);"
-                        );
-                        if (hasLoadingIndicators) {
-                            logger.debug("❌ Loading indicators still visible");
-                            return false;
-                        }
-
-                        // Check 4: jQuery done (if present)
-                        Boolean jQueryDone = (Boolean) js.executeScript(
-                                "return typeof jQuery === 'undefined' || jQuery.active === 0"
-                        );
-                        if (!jQueryDone) {
-                            logger.debug("❌ jQuery still active");
-                            return false;
-                        }
-
-                        // All checks passed!
-                        logger.debug("✅ All page ready checks passed");
-                        return true;
-
-                    } catch (Exception e) {
-                        // If any check fails, assume not ready
-                        logger.debug("❌ Page ready check failed: {}", e.getMessage());
-                        return false;
-                    }
-                }
-            });
-
-            // Add minimal buffer
-            Thread.sleep(1000);
+            // Document ready, rendered content, no loaders, jQuery/Angular idle - all in one check
+            ReadinessProbe.forApp(ReadinessProbe.DEFAULT).await(driver, timeout);
+            TimeoutPolicy.record(timeoutKey, startTime);
 
             long totalTime = System.currentTimeMillis() - startTime;
             logger.info("✅ Page ready in {}ms", totalTime);
@@ -96,13 +43,6 @@ public class FastPageLoadDetector {
         } catch (Exception e) {
             long totalTime = System.currentTimeMillis() - startTime;
             logger.warn("⚠️ Page ready detection timed out after {}ms: {}", totalTime, e.getMessage());
-
-            // Still take a small buffer in case page is usable
-            try {
-                Thread.sleep(2000);
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
-            }
         }
     }
 
@@ -114,25 +54,10 @@ public class FastPageLoadDetector {
         long startTime = System.currentTimeMillis();
 
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(30));
-
-            wait.until(new ExpectedCondition<Boolean>() {
-                @Override
-                public Boolean apply(WebDriver driver) {
-                    try {
-                        JavascriptExecutor js = (JavascriptExecutor) driver;
-
-                        // Just check document ready and basic content
-                        String readyState = (String) js.executeScript("return document.readyState");
-                        Boolean hasContent = (Boolean) js.executeScript("return document.body && document.body.children.length > 0");
-
-                        return "complete".equals(readyState) && hasContent;
-
-                    } catch (Exception e) {
-                        return false;
-                    }
-                }
-            });
+            // One async call that returns once the document is complete and the DOM has settled
+            String timeoutKey = TimeoutPolicy.pageKey(driver, "dom quiet");
+            DomQuietWaiter.awaitQuiet(driver, TimeoutPolicy.timeoutSecondsFor(timeoutKey, 30));
+            TimeoutPolicy.record(timeoutKey, startTime);
 
             long totalTime = System.currentTimeMillis() - startTime;
             logger.info("✅ Quick page ready in {}ms", totalTime);
@@ -150,16 +75,11 @@ public class FastPageLoadDetector {
         logger.info("⚡⚡⚡ Basic document ready check");
 
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-
-            wait.until(new ExpectedCondition<Boolean>() {
-                @Override
-                public Boolean apply(WebDriver driver) {
-                    JavascriptExecutor js = (JavascriptExecutor) driver;
-                    String readyState = (String) js.executeScript("return document.readyState");
-                    return "complete".equals(readyState);
-                }
-            });
+            String timeoutKey = TimeoutPolicy.pageKey(driver, "document ready");
+            long startTime = System.currentTimeMillis();
+            ReadinessProbe.of(ReadinessSignal.documentComplete()).await(driver,
+                    TimeoutPolicy.timeoutSecondsFor(timeoutKey, 15));
+            TimeoutPolicy.record(timeoutKey, startTime);
 
             logger.info("✅ Document ready");
 
@@ -188,26 +108,13 @@ public class FastPageLoadDetector {
         logger.info("🎯 Waiting for specific elements: {}", String.join(", ", selectors));
 
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10)); // Reduced from 20 to 10
-
-            return wait.until(new ExpectedCondition<Boolean>() {
-                @Override
-                public Boolean apply(WebDriver driver) {
-                    for (String selector : selectors) {
-                        try {
-                            if (driver.findElements(By.cssSelector(selector)).isEmpty()) {
-                                logger.debug("❌ Element not found: {}", selector);
-                                return false;
-                            }
-                        } catch (Exception e) {
-                            logger.debug("❌ Error checking element {}: {}", selector, e.getMessage());
-                            return false;
-                        }
-                    }
-                    logger.debug("✅ All specific elements found");
-                    return true;
-                }
-            });
+            // One signal per selector, all evaluated in the same script call
+            ReadinessSignal[] signals = new ReadinessSignal[selectors.length];
+            for (int i = 0; i < selectors.length; i++) {
+                signals[i] = ReadinessSignal.anyElementPresent(selectors[i], selectors[i]);
+            }
+            ReadinessProbe.of(signals).await(driver, 10);
+            return true;
 
         } catch (Exception e) {
             logger.warn("⚠️ Specific elements check failed: {}", e.getMessage());
@@ -221,34 +128,28 @@ public class FastPageLoadDetector {
     public static void waitForAutoTeamPageReady(WebDriver driver) {
         logger.info("🚗 AutoTeam page ready detection");
 
-        // Get timeout from configuration
-        int timeout = com.carservice.automation.utils.ConfigurationManager.getPageLoadTimeout();
-        boolean useFastMode = com.carservice.automation.utils.ConfigurationManager.useFastPageLoadDetection();
+        // Configured timeout until this page has a learned one
+        boolean useFastMode = ConfigurationManager.useFastPageLoadDetection();
+        String waitName = useFastMode ? "app load" : "document ready";
+        String timeoutKey = TimeoutPolicy.pageKey(driver, waitName);
+        int timeout = TimeoutPolicy.timeoutSecondsFor(timeoutKey, ConfigurationManager.getPageLoadTimeout());
+        long startTime = System.currentTimeMillis();
 
         logger.info("📋 Using timeout: {}s, Fast mode: {}", timeout, useFastMode);
 
-        if (useFastMode) {
-            // Fast detection
-            waitForPageReady(driver, timeout);
-        } else {
-            // Just basic waiting
-            waitForBasicPageReady(driver);
-            try { Thread.sleep(3000); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
-        }
-
-        // Quick check for AutoTeam-specific elements (optional)
         try {
-            boolean hasNavOrContent = waitForSpecificElements(driver,
-                    "nav", ".navbar", ".navigation", "main", ".main-content", ".container", "header", ".header");
-
-            if (hasNavOrContent) {
-                logger.info("✅ AutoTeam page elements detected");
+            if (useFastMode) {
+                // The app's registered signals, including its page shell (navigation and main content)
+                ReadinessProbe.awaitCurrentPage(driver, timeout);
             } else {
-                logger.info("⚠️ AutoTeam elements not found, but continuing");
+                // Just basic waiting
+                ReadinessProbe.of(ReadinessSignal.documentComplete()).await(driver, timeout);
             }
+            TimeoutPolicy.record(timeoutKey, startTime);
+            logger.info("✅ AutoTeam page elements detected");
 
         } catch (Exception e) {
-            logger.warn("⚠️ AutoTeam element check failed: {}", e.getMessage());
+            logger.warn("⚠️ AutoTeam page ready check failed, but continuing: {}", e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
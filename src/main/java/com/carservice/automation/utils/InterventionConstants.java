@@ -31,7 +31,8 @@ public class InterventionConstants {
     public static final String MILEAGE_XPATH = ".//span[contains(text(), 'KM')]";
 
     // Calendar locators
-    public static final String ALL_TIME_SLOTS_XPATH = "//td[contains(@class, 'fc-timegrid-slot-lane') and @data-time and not(contains(@class, 'fc-timegrid-slot-minor'))]";
+    // Minor (half-hour) lanes included: CalendarGrid needs them to convert positions to times
+    public static final String ALL_TIME_SLOTS_XPATH = "//td[contains(@class, 'fc-timegrid-slot-lane') and @data-time]";
     public static final String DAY_COLUMNS_XPATH = "//td[contains(@class, 'fc-timegrid-col fc-day')]";
     public static final String ELEVEN_AM_SLOT_XPATH = "//td[@data-time='11:00:00' and contains(@class, 'fc-timegrid-slot-label')]";
 
@@ -0,0 +1,40 @@
+package com.carservice.automation.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides how long a wait sleeps between two evaluations of its condition.
+ */
+public interface PollingStrategy {
+
+    /**
+     * Get the delay before the next evaluation
+     * @param poll Number of evaluations done so far (1 after the first failed check)
+     * @return Delay in milliseconds
+     */
+    long nextDelayMillis(int poll);
+
+    /**
+     * Same delay before every evaluation, the FluentWait default behaviour
+     * @param intervalMillis Delay in milliseconds
+     */
+    static PollingStrategy fixed(long intervalMillis) {
+        return poll -> intervalMillis;
+    }
+
+    /**
+     * Start fast and back off exponentially up to a ceiling, with random jitter so parallel
+     * sessions do not poll in lockstep
+     * @param initialMillis Delay after the first failed check
+     * @param maxMillis Delay ceiling
+     * @param multiplier Growth factor per poll
+     * @param jitterRatio Random spread around each delay, e.g. 0.2 for +/-20%
+     */
+    static PollingStrategy exponentialBackoff(long initialMillis, long maxMillis, double multiplier, double jitterRatio) {
+        return poll -> {
+            double base = Math.min(maxMillis, initialMillis * Math.pow(multiplier, Math.max(0, poll - 1)));
+            double jitter = 1 + (ThreadLocalRandom.current().nextDouble() * 2 - 1) * jitterRatio;
+            return Math.max(1, Math.round(base * jitter));
+        };
+    }
+}
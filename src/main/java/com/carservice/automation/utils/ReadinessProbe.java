@@ -0,0 +1,270 @@
+package com.carservice.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.FluentWait;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Page-readiness engine that evaluates every signal of an app in a single script call per poll.
+ *
+ * Each app (end user, backoffice) registers its {@link ReadinessSignal}s together with its base
+ * URL. A probe combines the signals into one script that returns a map of signal name to status,
+ * so one poll is one WebDriver round trip however many signals there are, and the wait returns
+ * as soon as the map is all green. On timeout the exception names the signals still pending.
+ *
+ * Poll interval: readiness.poll.ms (default 100).
+ */
+public class ReadinessProbe {
+
+    private static final Logger logger = LogManager.getLogger(ReadinessProbe.class);
+
+    public static final String ENDUSER = "enduser";
+    public static final String BACKOFFICE = "backoffice";
+    public static final String DEFAULT = "default";
+
+    private static final Map<String, ReadinessProbe> appProbes = new ConcurrentHashMap<>();
+    private static final Map<String, String> appHosts = new ConcurrentHashMap<>();
+
+    static {
+        List<ReadinessSignal> common = List.of(
+                ReadinessSignal.documentComplete(),
+                ReadinessSignal.loadEventFinished(),
+                ReadinessSignal.jQueryIdle(),
+                ReadinessSignal.angularStable(),
+                ReadinessSignal.bodyRendered(100),
+                ReadinessSignal.noVisibleLoaders());
+        // Navigation and main content must both be there, as the AutoTeam page-ready check always required
+        ReadinessSignal appShell = ReadinessSignal.allElementsPresent("appShell",
+                "nav, .navbar, .navigation", "main, .main-content, .container");
+
+        register(DEFAULT, null, common);
+        register(ENDUSER, ConfigurationManager.getEndUserAppUrl(), withSignal(common, appShell));
+        register(BACKOFFICE, ConfigurationManager.getBackofficeAppUrl(), withSignal(common, appShell));
+    }
+
+    private final String name;
+    private final List<ReadinessSignal> signals;
+    private final String script;
+
+    private ReadinessProbe(String name, List<ReadinessSignal> signals) {
+        this.name = name;
+        this.signals = Collections.unmodifiableList(new ArrayList<>(signals));
+        this.script = buildScript(this.signals);
+    }
+
+    /**
+     * Register (or replace) the readiness signals of an application
+     * @param app Application name, e.g. {@link #ENDUSER}
+     * @param baseUrl Any URL of the application, used to pick the probe for a page; null for none
+     * @param signals Signals that must all be green for a page of this app to be ready
+     */
+    public static void register(String app, String baseUrl, List<ReadinessSignal> signals) {
+        appProbes.put(app, new ReadinessProbe(app, signals));
+        String host = getHost(baseUrl);
+        if (host != null) {
+            appHosts.put(host, app);
+        }
+        logger.debug("Registered {} readiness signals for {}", signals.size(), app);
+    }
+
+    /**
+     * Get the probe registered for an application, falling back to the default signals
+     * @param app Application name
+     */
+    public static ReadinessProbe forApp(String app) {
+        return appProbes.getOrDefault(app, appProbes.get(DEFAULT));
+    }
+
+    /**
+     * Get the probe of the application a URL belongs to, matched by host
+     * @param url Page URL
+     */
+    public static ReadinessProbe forUrl(String url) {
+        String host = getHost(url);
+        return forApp(host == null ? DEFAULT : appHosts.getOrDefault(host, DEFAULT));
+    }
+
+    /**
+     * Build an ad-hoc probe from explicit signals
+     * @param signals Signals that must all be green
+     */
+    public static ReadinessProbe of(ReadinessSignal... signals) {
+        return new ReadinessProbe("custom", Arrays.asList(signals));
+    }
+
+    /**
+     * Wait until the page the driver is on is ready for its application
+     * @param driver WebDriver instance
+     * @param timeoutSeconds Maximum wait
+     * @return Final result
+     * @throws TimeoutException if some signals are still pending at the timeout
+     */
+    public static Result awaitCurrentPage(WebDriver driver, int timeoutSeconds) {
+        return forUrl(driver.getCurrentUrl()).await(driver, timeoutSeconds);
+    }
+
+    /**
+     * Create a probe with these signals plus another one, replacing a signal of the same name
+     * @param signal Additional signal
+     */
+    public ReadinessProbe with(ReadinessSignal signal) {
+        return new ReadinessProbe(name, withSignal(signals, signal));
+    }
+
+    /**
+     * Evaluate all signals once
+     * @param driver WebDriver instance
+     * @return Status of every signal
+     */
+    @SuppressWarnings("unchecked")
+    public Result evaluate(WebDriver driver) {
+        Object raw = ((JavascriptExecutor) driver).executeScript(script);
+        Map<String, String> pending = new LinkedHashMap<>();
+        if (raw instanceof Map) {
+            ((Map<String, Object>) raw).forEach((signal, status) -> {
+                if (!Boolean.TRUE.equals(status)) {
+                    pending.put(signal, String.valueOf(status));
+                }
+            });
+        } else {
+            pending.put("script", "unexpected result " + raw);
+        }
+        return new Result(name, pending);
+    }
+
+    /**
+     * Poll until every signal is green
+     * @param driver WebDriver instance
+     * @param timeoutSeconds Maximum wait
+     * @return Final result, with elapsed time and poll count
+     * @throws TimeoutException if some signals are still pending at the timeout
+     */
+    public Result await(WebDriver driver, int timeoutSeconds) {
+        int pollMillis = Math.max(10, ConfigurationManager.getIntProperty("readiness.poll.ms", 100));
+        long start = System.currentTimeMillis();
+        int[] polls = {0};
+        Result[] last = {null};
+
+        try {
+            Result result = new FluentWait<>(driver)
+                    .withTimeout(Duration.ofSeconds(timeoutSeconds))
+                    .pollingEvery(Duration.ofMillis(pollMillis))
+                    // Thrown while the page navigates and its execution context is replaced
+                    .ignoring(JavascriptException.class)
+                    .until(d -> {
+                        polls[0]++;
+                        Result current = evaluate(d);
+                        if (last[0] == null || !last[0].pending.keySet().equals(current.pending.keySet())) {
+                            logger.debug("Readiness ({}) pending: {}", name, current.pending);
+                        }
+                        last[0] = current;
+                        return current.isReady() ? current : null;
+                    });
+
+            result.elapsedMillis = System.currentTimeMillis() - start;
+            result.polls = polls[0];
+            logger.info("✅ Page ready ({}) in {} ms after {} polls", name, result.elapsedMillis, result.polls);
+            return result;
+        } catch (TimeoutException e) {
+            String pending = last[0] == null ? "no successful poll" : last[0].pending.toString();
+            throw new TimeoutException("Page not ready (" + name + ") after " + timeoutSeconds
+                    + "s, pending signals: " + pending, e);
+        } finally {
+            WaitBudget.record("readiness " + name, start);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<ReadinessSignal> getSignals() {
+        return signals;
+    }
+
+    private static String buildScript(List<ReadinessSignal> signals) {
+        StringBuilder script = new StringBuilder("var result = {};\n");
+        for (ReadinessSignal signal : signals) {
+            String key = signal.getName().replace("'", "\\'");
+            script.append("try { result['").append(key).append("'] = (function () {")
+                    .append(signal.getScript())
+                    .append("})(); } catch (e) { result['").append(key).append("'] = 'error: ' + e.message; }\n");
+        }
+        return script.append("return result;").toString();
+    }
+
+    private static List<ReadinessSignal> withSignal(List<ReadinessSignal> signals, ReadinessSignal extra) {
+        List<ReadinessSignal> combined = new ArrayList<>();
+        for (ReadinessSignal signal : signals) {
+            if (!signal.getName().equals(extra.getName())) {
+                combined.add(signal);
+            }
+        }
+        combined.add(extra);
+        return combined;
+    }
+
+    private static String getHost(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        try {
+            return URI.create(url).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Outcome of a readiness evaluation
+     */
+    public static class Result {
+        private final String probe;
+        private final Map<String, String> pending;
+        private long elapsedMillis;
+        private int polls = 1;
+
+        private Result(String probe, Map<String, String> pending) {
+            this.probe = probe;
+            this.pending = Collections.unmodifiableMap(pending);
+        }
+
+        public boolean isReady() {
+            return pending.isEmpty();
+        }
+
+        /**
+         * Signals that are not green yet, with what each is waiting for
+         */
+        public Map<String, String> getPending() {
+            return pending;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public int getPolls() {
+            return polls;
+        }
+
+        @Override
+        public String toString() {
+            return probe + (isReady() ? " ready" : " pending " + pending);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.carservice.automation.utils;
+
+/**
+ * One page-readiness check evaluated inside the browser by {@link ReadinessProbe}.
+ *
+ * The script is the body of a JavaScript function that returns true when the signal is green,
+ * or a short string saying what it is still waiting for. Signals for frameworks or widgets a
+ * page does not use must return true, so the same set can be registered for every page of an app.
+ */
+public class ReadinessSignal {
+
+    private static final String LOADER_SELECTORS =
+            ".loading, .spinner, .loader, [class*=\"loading\"], [class*=\"spinner\"]";
+
+    private final String name;
+    private final String script;
+
+    /**
+     * Create a signal
+     * @param name Short unique name, used in results and logs
+     * @param script JavaScript function body returning true or a reason string
+     */
+    public ReadinessSignal(String name, String script) {
+        this.name = name;
+        this.script = script;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getScript() {
+        return script;
+    }
+
+    /**
+     * document.readyState is complete
+     */
+    public static ReadinessSignal documentComplete() {
+        return new ReadinessSignal("document",
+                "return document.readyState === 'complete' || 'readyState ' + document.readyState;");
+    }
+
+    /**
+     * The navigation's load event has finished
+     */
+    public static ReadinessSignal loadEventFinished() {
+        return new ReadinessSignal("loadEvent",
+                "var entries = performance.getEntriesByType('navigation');" +
+                "return entries.length === 0 || entries[0].loadEventEnd > 0 || 'load event pending';");
+    }
+
+    /**
+     * No jQuery AJAX requests in flight (green when jQuery is not used)
+     */
+    public static ReadinessSignal jQueryIdle() {
+        return new ReadinessSignal("jQuery",
+                "return typeof jQuery === 'undefined' || jQuery.active === 0 || jQuery.active + ' jQuery requests';");
+    }
+
+    /**
+     * Angular zones are stable and AngularJS has no pending $http requests (green when Angular is not used)
+     */
+    public static ReadinessSignal angularStable() {
+        return new ReadinessSignal("angular",
+                "if (window.getAllAngularTestabilities) {" +
+                "  var unstable = window.getAllAngularTestabilities().filter(function (t) { return !t.isStable(); });" +
+                "  if (unstable.length > 0) { return unstable.length + ' unstable Angular roots'; }" +
+                "}" +
+                "if (window.angular && window.angular.element) {" +
+                "  var injector = window.angular.element(document).injector();" +
+                "  if (injector && injector.get) {" +
+                "    var pending = injector.get('$http').pendingRequests.length;" +
+                "    if (pending > 0) { return pending + ' AngularJS requests'; }" +
+                "  }" +
+                "}" +
+                "return true;");
+    }
+
+    /**
+     * The body has rendered at least the given height, i.e. the page is not a blank shell
+     * @param minHeight Minimum body scroll height in pixels
+     */
+    public static ReadinessSignal bodyRendered(int minHeight) {
+        return new ReadinessSignal("body",
+                "var height = document.body ? document.body.scrollHeight : 0;" +
+                "return height >= " + minHeight + " || 'body height ' + height + 'px';");
+    }
+
+    /**
+     * No visible loading indicator (spinner, loader, ...) on the page
+     */
+    public static ReadinessSignal noVisibleLoaders() {
+        return new ReadinessSignal("loaders",
+                "var visible = Array.prototype.filter.call(document.querySelectorAll('" + escape(LOADER_SELECTORS) + "')," +
+                "  function (el) { return el.offsetParent !== null; }).length;" +
+                "return visible === 0 || visible + ' visible loaders';");
+    }
+
+    /**
+     * No fetch/XHR in flight and no DOM mutation for the quiet window, using the
+     * {@link DomQuietWaiter} tracker (installed by the first evaluation)
+     * @param quietMillis Required quiet window in milliseconds
+     */
+    public static ReadinessSignal domQuiet(int quietMillis) {
+        return new ReadinessSignal("domQuiet",
+                DomQuietWaiter.TRACKER_SCRIPT +
+                "var q = window.__autoteamQuiet, quietFor = Math.round(performance.now() - q.last);" +
+                "if (q.inflight > 0) { return q.inflight + ' requests in flight'; }" +
+                "return quietFor >= " + quietMillis + " || 'DOM changed ' + quietFor + ' ms ago';");
+    }
+
+    /**
+     * At least one element matches one of the CSS selectors
+     * @param name Signal name
+     * @param cssSelectors Alternative selectors for the element
+     */
+    public static ReadinessSignal anyElementPresent(String name, String... cssSelectors) {
+        String selectorList = escape(String.join(", ", cssSelectors));
+        return new ReadinessSignal(name,
+                "return document.querySelector('" + selectorList + "') !== null || 'no element matching " + selectorList + "';");
+    }
+
+    /**
+     * Every group matches at least one element
+     * @param name Signal name
+     * @param cssSelectorGroups Required elements, each a CSS selector list of alternatives, e.g. "nav, .navbar"
+     */
+    public static ReadinessSignal allElementsPresent(String name, String... cssSelectorGroups) {
+        StringBuilder groups = new StringBuilder();
+        for (String group : cssSelectorGroups) {
+            groups.append(groups.length() == 0 ? "" : ", ").append('\'').append(escape(group)).append('\'');
+        }
+        return new ReadinessSignal(name,
+                "var missing = [" + groups + "].filter(function (group) { return document.querySelector(group) === null; });" +
+                "return missing.length === 0 || 'no element matching ' + missing.join(' / ');");
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("'", "\\'");
+    }
+}
@@ -0,0 +1,242 @@
+package com.carservice.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Learns which fallback selector actually matches for each logical element.
+ *
+ * Every BasePage.findElementWithMultipleSelectors lookup records the winning candidate (hit
+ * count and latency) under the element name. Later lookups try the candidates ordered by past
+ * wins, source order breaking ties, so a selector that never matches in our environment stops
+ * being evaluated first. Statistics are kept in selector-stats.json in the framework cache
+ * directory and saved at JVM exit, together with a report of selectors that never won.
+ *
+ * Enabled with selector.ranking.enabled (default true). A selector is reported dead once its
+ * element has been looked up selector.ranking.dead.min.lookups times (default 5) without it winning.
+ */
+public class SelectorRanking {
+
+    private static final Logger logger = LogManager.getLogger(SelectorRanking.class);
+
+    private static final String STATS_FILE = "selector-stats.json";
+
+    private static final Map<String, ElementStats> stats = loadStats();
+
+    // Selectors passed in during this run; removed selectors are not reported as dead
+    private static final Map<String, Set<String>> seenThisRun = new ConcurrentHashMap<>();
+
+    private static volatile boolean hookRegistered;
+
+    /**
+     * Check whether ranking is enabled in configuration
+     */
+    public static boolean isEnabled() {
+        return ConfigurationManager.getBooleanProperty("selector.ranking.enabled", true);
+    }
+
+    /**
+     * Order candidates by past wins for the element, keeping source order for ties
+     * @param elementName Logical element name
+     * @param selectors Candidates in source order
+     * @return Candidates in the order they should be tried
+     */
+    public static String[] rank(String elementName, String[] selectors) {
+        if (!isEnabled()) {
+            return selectors;
+        }
+        registerShutdownHook();
+        seenThisRun.computeIfAbsent(elementName, name -> ConcurrentHashMap.newKeySet()).addAll(Arrays.asList(selectors));
+
+        ElementStats element = stats.get(elementName);
+        if (element == null) {
+            return selectors;
+        }
+        String[] ranked = selectors.clone();
+        Arrays.sort(ranked, Comparator.comparingLong(element::winsOf).reversed());
+        if (!Arrays.equals(ranked, selectors)) {
+            logger.debug("Reordered selectors for {}, trying first: {}", elementName, ranked[0]);
+        }
+        return ranked;
+    }
+
+    /**
+     * Record the candidate that matched
+     * @param elementName Logical element name
+     * @param selector Winning selector
+     * @param latencyMillis Time the lookup took
+     */
+    public static void recordWin(String elementName, String selector, long latencyMillis) {
+        if (isEnabled()) {
+            stats.computeIfAbsent(elementName, name -> new ElementStats()).recordWin(selector, latencyMillis);
+        }
+    }
+
+    /**
+     * Record a lookup where no candidate matched
+     * @param elementName Logical element name
+     * @param latencyMillis Time spent before giving up
+     */
+    public static void recordMiss(String elementName, long latencyMillis) {
+        if (isEnabled()) {
+            stats.computeIfAbsent(elementName, name -> new ElementStats()).recordMiss(latencyMillis);
+        }
+    }
+
+    /**
+     * Log the selectors that never won and save the statistics, called at JVM exit
+     */
+    public static void writeReport() {
+        if (seenThisRun.isEmpty()) {
+            return;
+        }
+        int minLookups = ConfigurationManager.getIntProperty("selector.ranking.dead.min.lookups", 5);
+
+        List<String> dead = new ArrayList<>();
+        seenThisRun.forEach((elementName, selectors) -> {
+            ElementStats element = stats.get(elementName);
+            if (element == null || element.lookups < minLookups) {
+                return;
+            }
+            selectors.stream()
+                    .filter(selector -> element.winsOf(selector) == 0)
+                    .forEach(selector -> dead.add(elementName + " -> " + selector));
+        });
+
+        logger.info("📊 === SELECTOR RANKING: {} elements, {} dead selectors ===", seenThisRun.size(), dead.size());
+        seenThisRun.keySet().stream().sorted().forEach(elementName -> {
+            ElementStats element = stats.get(elementName);
+            if (element != null) {
+                logger.info("🎯 {} - {} lookups, avg {} ms, {} misses", elementName, element.lookups,
+                        element.totalMillis / Math.max(1, element.lookups), element.misses);
+            }
+        });
+        dead.forEach(entry -> logger.info("💀 Never won in {}+ lookups: {}", minLookups, entry));
+
+        saveStats();
+    }
+
+    private static void registerShutdownHook() {
+        if (hookRegistered) {
+            return;
+        }
+        synchronized (SelectorRanking.class) {
+            if (!hookRegistered) {
+                Runtime.getRuntime().addShutdownHook(new Thread(SelectorRanking::writeReport, "selector-ranking-report"));
+                hookRegistered = true;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, ElementStats> loadStats() {
+        Map<String, ElementStats> loaded = new ConcurrentHashMap<>();
+        Path statsPath = ConfigurationManager.getFrameworkCacheDir().resolve(STATS_FILE);
+        if (!Files.exists(statsPath)) {
+            return loaded;
+        }
+        try {
+            Map<String, Object> json = new Json().toType(Files.readString(statsPath, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            json.forEach((elementName, value) -> {
+                if (value instanceof Map) {
+                    loaded.put(elementName, ElementStats.fromMap((Map<String, Object>) value));
+                }
+            });
+        } catch (IOException | JsonException | ClassCastException e) {
+            logger.warn("⚠️ Could not read selector statistics, starting fresh: {}", e.getMessage());
+        }
+        return loaded;
+    }
+
+    private static void saveStats() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        stats.forEach((elementName, element) -> json.put(elementName, element.toMap()));
+        Path statsPath = ConfigurationManager.getFrameworkCacheDir().resolve(STATS_FILE);
+        try {
+            Files.createDirectories(statsPath.getParent());
+            Path tempFile = Files.createTempFile(statsPath.getParent(), STATS_FILE, ".tmp");
+            Files.writeString(tempFile, new Json().toJson(json), StandardCharsets.UTF_8);
+            Files.move(tempFile, statsPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not write selector statistics: {}", e.getMessage());
+        }
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    /**
+     * Lookup statistics for one logical element
+     */
+    private static class ElementStats {
+        private final Map<String, long[]> winsBySelector = new ConcurrentHashMap<>();
+        private long lookups;
+        private long misses;
+        private long totalMillis;
+
+        private long winsOf(String selector) {
+            long[] wins = winsBySelector.get(selector);
+            return wins == null ? 0 : wins[0];
+        }
+
+        private synchronized void recordWin(String selector, long latencyMillis) {
+            lookups++;
+            totalMillis += latencyMillis;
+            long[] wins = winsBySelector.computeIfAbsent(selector, key -> new long[2]);
+            wins[0]++;
+            wins[1] += latencyMillis;
+        }
+
+        private synchronized void recordMiss(long latencyMillis) {
+            lookups++;
+            misses++;
+            totalMillis += latencyMillis;
+        }
+
+        private synchronized Map<String, Object> toMap() {
+            Map<String, Object> selectors = new LinkedHashMap<>();
+            winsBySelector.forEach((selector, wins) -> selectors.put(selector, Map.of("wins", wins[0], "totalMs", wins[1])));
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("lookups", lookups);
+            map.put("misses", misses);
+            map.put("totalMs", totalMillis);
+            map.put("selectors", selectors);
+            return map;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static ElementStats fromMap(Map<String, Object> map) {
+            ElementStats element = new ElementStats();
+            element.lookups = toLong(map.get("lookups"));
+            element.misses = toLong(map.get("misses"));
+            element.totalMillis = toLong(map.get("totalMs"));
+            Object selectors = map.get("selectors");
+            if (selectors instanceof Map) {
+                ((Map<String, Object>) selectors).forEach((selector, value) -> {
+                    if (value instanceof Map) {
+                        Map<String, Object> wins = (Map<String, Object>) value;
+                        element.winsBySelector.put(selector, new long[]{toLong(wins.get("wins")), toLong(wins.get("totalMs"))});
+                    }
+                });
+            }
+            return element;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.carservice.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * WebElement proxy that re-locates itself when Angular re-renders it.
+ *
+ * The proxy remembers how to find the element again: by default the search context, locator and
+ * index it was found with. Elements whose position is not their identity, such as list items
+ * that can be added, removed or reordered, are wrapped with their own re-resolver instead, so a
+ * stale item never heals to a different item. When a call fails with StaleElementReferenceException,
+ * the proxy looks the element up again once and repeats the call; a second staleness, or an
+ * element that is no longer there, is thrown as usual.
+ * Elements found from a proxy are proxies themselves, with the proxy as their context, so a
+ * re-rendered parent heals before its children. Re-resolutions are counted per locator and
+ * logged at JVM exit. Configuration: element.healing.enabled (default true).
+ */
+public class SelfHealingElement implements InvocationHandler {
+
+    private static final Logger logger = LogManager.getLogger(SelfHealingElement.class);
+
+    private static final Map<String, AtomicLong> reResolutions = new ConcurrentHashMap<>();
+
+    private static volatile boolean hookRegistered;
+
+    // Key for the re-resolution counts, and description for logs
+    private final String name;
+    private final String description;
+    private final Supplier<WebElement> resolver;
+    private WebElement delegate;
+
+    private SelfHealingElement(String name, String description, Supplier<WebElement> resolver, WebElement delegate) {
+        this.name = name;
+        this.description = description;
+        this.resolver = resolver;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Check whether self-healing elements are enabled in configuration
+     */
+    public static boolean isEnabled() {
+        return ConfigurationManager.getBooleanProperty("element.healing.enabled", true);
+    }
+
+    /**
+     * Wrap an element that was found with a locator
+     * @param context Driver or element the element was searched from
+     * @param locator Locator the element was found with
+     * @param index Position of the element among the locator's matches
+     * @param element Element to wrap
+     * @return Healing proxy, or the element itself if healing is disabled or it is already a proxy
+     */
+    public static WebElement wrap(SearchContext context, By locator, int index, WebElement element) {
+        return wrap(String.valueOf(locator), locator + " #" + index, () -> {
+            List<WebElement> matches = context.findElements(locator);
+            return index < matches.size() ? matches.get(index) : null;
+        }, element);
+    }
+
+    /**
+     * Wrap an element that is identified by its content rather than its position
+     * @param name Name for logging and the re-resolution counts, e.g. "intervention card"
+     * @param resolver Finds the same element again, returns null if it is gone or cannot be told apart
+     * @param element Element to wrap
+     * @return Healing proxy, or the element itself if healing is disabled or it is already a proxy
+     */
+    public static WebElement wrap(String name, Supplier<WebElement> resolver, WebElement element) {
+        return wrap(name, name, resolver, element);
+    }
+
+    private static WebElement wrap(String name, String description, Supplier<WebElement> resolver, WebElement element) {
+        if (element == null || !isEnabled() || isProxy(element)) {
+            return element;
+        }
+        return (WebElement) Proxy.newProxyInstance(SelfHealingElement.class.getClassLoader(),
+                new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class},
+                new SelfHealingElement(name, description, resolver, element));
+    }
+
+    /**
+     * Find the first element matching a locator
+     * @param context Driver or element to search from
+     * @param locator Locator
+     * @return Healing proxy for the element
+     */
+    public static WebElement find(SearchContext context, By locator) {
+        return wrap(context, locator, 0, context.findElement(locator));
+    }
+
+    /**
+     * Find all elements matching a locator
+     * @param context Driver or element to search from
+     * @param locator Locator
+     * @return Healing proxies for the elements, in document order
+     */
+    public static List<WebElement> findAll(SearchContext context, By locator) {
+        return wrapAll(context, locator, context.findElements(locator));
+    }
+
+    /**
+     * Wrap the result of findElements
+     * @param context Driver or element the elements were searched from
+     * @param locator Locator the elements were found with
+     * @param elements Elements in the order findElements returned them
+     * @return Healing proxies
+     */
+    public static List<WebElement> wrapAll(SearchContext context, By locator, List<WebElement> elements) {
+        List<WebElement> wrapped = new ArrayList<>(elements.size());
+        for (int i = 0; i < elements.size(); i++) {
+            wrapped.add(wrap(context, locator, i, elements.get(i)));
+        }
+        return wrapped;
+    }
+
+    /**
+     * Get the number of times an element found with a locator had to be re-located
+     * @param locator Locator
+     */
+    public static long getReResolutionCount(By locator) {
+        return getReResolutionCount(String.valueOf(locator));
+    }
+
+    /**
+     * Get the number of times an element wrapped with its own re-resolver had to be re-located
+     * @param name Name the element was wrapped with
+     */
+    public static long getReResolutionCount(String name) {
+        AtomicLong count = reResolutions.get(name);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Get the number of re-resolutions across all locators
+     */
+    public static long getTotalReResolutions() {
+        return reResolutions.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    /**
+     * Log the locators whose elements went stale most often, called at JVM exit
+     */
+    public static void logReport() {
+        if (reResolutions.isEmpty()) {
+            return;
+        }
+        logger.info("📊 === SELF-HEALING ELEMENTS: {} re-resolutions on {} locators ===",
+                getTotalReResolutions(), reResolutions.size());
+        reResolutions.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, AtomicLong> entry) -> entry.getValue().get()).reversed())
+                .limit(10)
+                .forEach(entry -> logger.info("♻️ {} - re-located {} times", entry.getKey(), entry.getValue().get()));
+    }
+
+    private static boolean isProxy(WebElement element) {
+        return Proxy.isProxyClass(element.getClass()) && Proxy.getInvocationHandler(element) instanceof SelfHealingElement;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "getWrappedElement":
+                return delegate;
+            case "equals":
+                Object other = args[0] instanceof WrapsElement ? ((WrapsElement) args[0]).getWrappedElement() : args[0];
+                return delegate.equals(other);
+            case "hashCode":
+                return delegate.hashCode();
+            case "toString":
+                return "Healing[" + description + "] -> " + delegate;
+            default:
+                break;
+        }
+
+        try {
+            return wrapFound(proxy, method, invokeOnDelegate(method, args), args);
+        } catch (StaleElementReferenceException e) {
+            if (!reResolve()) {
+                throw e;
+            }
+            return wrapFound(proxy, method, invokeOnDelegate(method, args), args);
+        }
+    }
+
+    private Object invokeOnDelegate(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Wrap elements found from this element, with this proxy as their context
+     */
+    @SuppressWarnings("unchecked")
+    private Object wrapFound(Object proxy, Method method, Object result, Object[] args) {
+        if ("findElement".equals(method.getName())) {
+            return wrap((SearchContext) proxy, (By) args[0], 0, (WebElement) result);
+        }
+        if ("findElements".equals(method.getName())) {
+            return wrapAll((SearchContext) proxy, (By) args[0], (List<WebElement>) result);
+        }
+        return result;
+    }
+
+    private boolean reResolve() {
+        WebElement fresh = resolver.get();
+        if (fresh == null) {
+            logger.warn("⚠️ Stale element {} is gone", description);
+            return false;
+        }
+        delegate = fresh instanceof WrapsElement ? ((WrapsElement) fresh).getWrappedElement() : fresh;
+        long count = reResolutions.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+        logger.info("♻️ Re-located stale element {} ({} times for {})", description, count, name);
+        registerReportHook();
+        return true;
+    }
+
+    private static void registerReportHook() {
+        if (hookRegistered) {
+            return;
+        }
+        synchronized (SelfHealingElement.class) {
+            if (!hookRegistered) {
+                Runtime.getRuntime().addShutdownHook(new Thread(SelfHealingElement::logReport, "self-healing-report"));
+                hookRegistered = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.carservice.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures what fixed sleeps are actually waiting for.
+ *
+ * With wait.audit.enabled=true every BasePage.waitForElement / WaitUtils.sleep call still sleeps
+ * for its full duration, but spends that time watching the page through {@link DomQuietWaiter}
+ * and records, per call site, when the page actually settled. Named post-condition waits
+ * (BasePage.waitForCondition) are recorded too, so a sleep and the condition that replaced it
+ * can be compared. At JVM exit the audit is logged and written to target/wait-audit as CSV,
+ * sorted by total time slept.
+ *
+ * Quiet window used to decide the page has settled: wait.audit.quiet.ms (default 200).
+ */
+public class SleepAudit {
+
+    private static final Logger logger = LogManager.getLogger(SleepAudit.class);
+
+    private static final Path OUTPUT_DIR = Paths.get("target", "wait-audit");
+
+    // Frames that wrap the sleep; the call site is the first frame outside them
+    private static final Set<String> WRAPPER_METHODS = Set.of(
+            "com.carservice.automation.base.BasePage.waitForElement",
+            "com.carservice.automation.base.BasePage.waitForCondition",
+            "com.carservice.automation.utils.WaitUtils.sleep");
+
+    private static final Map<String, Site> sleepSites = new ConcurrentHashMap<>();
+    private static final Map<String, Site> conditions = new ConcurrentHashMap<>();
+
+    private static volatile boolean hookRegistered;
+
+    /**
+     * Check whether audit mode is enabled in configuration
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(ConfigurationManager.getSystemPropertyOrConfig(
+                "wait.audit.enabled", "wait.audit.enabled", "false"));
+    }
+
+    /**
+     * Sleep for the full duration while recording when the page actually settled
+     * @param driver WebDriver instance, may be null (the sleep is then recorded without a settle time)
+     * @param milliseconds Sleep duration
+     */
+    public static void sleep(WebDriver driver, long milliseconds) {
+        registerReportHook();
+        String site = findCallSite();
+        long start = System.currentTimeMillis();
+
+        long settledAfter = -1;
+        if (driver != null) {
+            // A window longer than the sleep itself could never be observed
+            int quietMillis = (int) Math.min(ConfigurationManager.getIntProperty("wait.audit.quiet.ms", 200),
+                    Math.max(10, milliseconds / 2));
+            Map<String, Object> state = DomQuietWaiter.probeQuiet(driver, quietMillis, milliseconds);
+            if (state != null && Boolean.TRUE.equals(state.get("quiet"))) {
+                // The last change happened quietFor ms before the check returned
+                settledAfter = Math.max(0, toLong(state.get("waited")) - toLong(state.get("quietFor")));
+            }
+        }
+
+        long remaining = milliseconds - (System.currentTimeMillis() - start);
+        if (remaining > 0) {
+            try {
+                Thread.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        sleepSites.computeIfAbsent(site, Site::new).record(milliseconds, settledAfter);
+    }
+
+    /**
+     * Record a named post-condition wait
+     * @param name Condition name
+     * @param elapsedMillis Time until the condition was met (or gave up)
+     * @param met Whether the condition was met
+     */
+    public static void recordCondition(String name, long elapsedMillis, boolean met) {
+        if (!isEnabled()) {
+            return;
+        }
+        registerReportHook();
+        conditions.computeIfAbsent(name, Site::new).record(elapsedMillis, met ? elapsedMillis : -1);
+    }
+
+    /**
+     * Log the audit and write it to target/wait-audit, called at JVM exit
+     */
+    public static void writeReport() {
+        if (sleepSites.isEmpty() && conditions.isEmpty()) {
+            return;
+        }
+
+        List<Site> sleeps = new ArrayList<>(sleepSites.values());
+        sleeps.sort(Comparator.comparingLong((Site site) -> site.totalMillis).reversed());
+
+        long totalSlept = sleeps.stream().mapToLong(site -> site.totalMillis).sum();
+        long totalNeeded = sleeps.stream().mapToLong(Site::neededMillis).sum();
+        logger.info("📊 === SLEEP AUDIT: {} ms slept at {} call sites, ~{} ms needed ===",
+                totalSlept, sleeps.size(), totalNeeded);
+        for (Site site : sleeps) {
+            logger.info("😴 {} - {} calls, {} ms each, settled p50 {} ms / max {} ms, never settled {}x",
+                    site.name, site.calls, site.totalMillis / Math.max(1, site.calls),
+                    site.percentile(50), site.percentile(100), site.unsettled);
+        }
+        conditions.values().forEach(site -> logger.info("🎯 {} - {} waits, p50 {} ms / max {} ms, timed out {}x",
+                site.name, site.calls, site.percentile(50), site.percentile(100), site.unsettled));
+
+        List<String> lines = new ArrayList<>();
+        lines.add("kind,site,calls,totalMs,settledP50Ms,settledP90Ms,settledMaxMs,unsettled");
+        sleeps.forEach(site -> lines.add(site.toCsv("sleep")));
+        conditions.values().forEach(site -> lines.add(site.toCsv("condition")));
+        try {
+            Files.createDirectories(OUTPUT_DIR);
+            Path file = OUTPUT_DIR.resolve("sleep-audit-"
+                    + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv");
+            Files.write(file, lines, StandardCharsets.UTF_8);
+            logger.info("📄 Sleep audit written to {}", file);
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not write sleep audit: {}", e.getMessage());
+        }
+    }
+
+    private static void registerReportHook() {
+        if (hookRegistered) {
+            return;
+        }
+        synchronized (SleepAudit.class) {
+            if (!hookRegistered) {
+                Runtime.getRuntime().addShutdownHook(new Thread(SleepAudit::writeReport, "sleep-audit-report"));
+                hookRegistered = true;
+            }
+        }
+    }
+
+    private static String findCallSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> !frame.getClassName().equals(SleepAudit.class.getName()))
+                .filter(frame -> !WRAPPER_METHODS.contains(frame.getClassName() + "." + frame.getMethodName()))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("unknown"));
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    /**
+     * Statistics for one sleep call site or named condition
+     */
+    private static class Site {
+        private final String name;
+        private final List<Long> settledTimes = Collections.synchronizedList(new ArrayList<>());
+        private long calls;
+        private long totalMillis;
+        private long unsettled;
+
+        private Site(String name) {
+            this.name = name;
+        }
+
+        private synchronized void record(long millis, long settledAfter) {
+            calls++;
+            totalMillis += millis;
+            if (settledAfter < 0) {
+                unsettled++;
+            } else {
+                settledTimes.add(settledAfter);
+            }
+        }
+
+        /**
+         * Time the sleeps at this site actually needed: the worst observed settle time per call
+         */
+        private synchronized long neededMillis() {
+            return unsettled > 0 ? totalMillis : percentile(100) * calls;
+        }
+
+        private synchronized long percentile(int percentile) {
+            if (settledTimes.isEmpty()) {
+                return -1;
+            }
+            List<Long> sorted = new ArrayList<>(settledTimes);
+            Collections.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+            return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+        }
+
+        private synchronized String toCsv(String kind) {
+            return String.join(",", kind, "\"" + name.replace("\"", "'") + "\"", String.valueOf(calls),
+                    String.valueOf(totalMillis), String.valueOf(percentile(50)), String.valueOf(percentile(90)),
+                    String.valueOf(percentile(100)), String.valueOf(unsettled));
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.carservice.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Timeouts learned from how long each wait has taken before.
+ *
+ * Successful wait durations are kept per key (a locator, a logical element, a condition or a
+ * page) over the last runs. Once a key has enough history, its timeout becomes a multiple of
+ * its observed p99, clamped to configured limits: a wait on a page that normally renders in
+ * 800 ms fails after a few seconds instead of the hard-coded worst case, while a page that is
+ * known to be slow gets more than the default. Keys without history use the caller's default.
+ *
+ * History is kept in timeout-history.json in the framework cache directory and saved at JVM exit.
+ * Configuration: timeout.adaptive.enabled (default true), timeout.adaptive.multiplier (3),
+ * timeout.adaptive.min.samples (5), timeout.adaptive.min.seconds (5), timeout.adaptive.max.seconds (180).
+ */
+public class TimeoutPolicy {
+
+    private static final Logger logger = LogManager.getLogger(TimeoutPolicy.class);
+
+    private static final String HISTORY_FILE = "timeout-history.json";
+    private static final int MAX_SAMPLES = 100;
+
+    private static final Map<String, History> histories = loadHistory();
+
+    private static volatile boolean hookRegistered;
+
+    /**
+     * Check whether learned timeouts are enabled in configuration
+     */
+    public static boolean isEnabled() {
+        return ConfigurationManager.getBooleanProperty("timeout.adaptive.enabled", true);
+    }
+
+    /**
+     * Get the timeout for a wait
+     * @param key Wait key, e.g. "locator //button[...]" or "element Login button"
+     * @param defaultTimeout Timeout used until the key has enough history
+     * @return Learned timeout, or the default
+     */
+    public static Duration timeoutFor(String key, Duration defaultTimeout) {
+        if (!isEnabled()) {
+            return defaultTimeout;
+        }
+        History history = histories.get(key);
+        if (history == null || history.size() < ConfigurationManager.getIntProperty("timeout.adaptive.min.samples", 5)) {
+            return defaultTimeout;
+        }
+        return Duration.ofMillis(learnedMillis(history));
+    }
+
+    /**
+     * Get the timeout for a wait, in whole seconds
+     * @param key Wait key
+     * @param defaultSeconds Timeout used until the key has enough history
+     * @return Learned timeout in seconds, or the default
+     */
+    public static int timeoutSecondsFor(String key, int defaultSeconds) {
+        Duration timeout = timeoutFor(key, Duration.ofSeconds(defaultSeconds));
+        return (int) Math.max(1, (timeout.toMillis() + 999) / 1000);
+    }
+
+    /**
+     * Record a successful wait
+     * @param key Wait key
+     * @param startMillis System.currentTimeMillis() when the wait started
+     */
+    public static void record(String key, long startMillis) {
+        if (!isEnabled()) {
+            return;
+        }
+        registerShutdownHook();
+        histories.computeIfAbsent(key, k -> new History()).add(System.currentTimeMillis() - startMillis);
+    }
+
+    /**
+     * Log the learned timeouts and save the history, called at JVM exit
+     */
+    public static void writeReport() {
+        int minSamples = ConfigurationManager.getIntProperty("timeout.adaptive.min.samples", 5);
+        logger.info("📊 === TIMEOUT POLICY: {} waits with history ===", histories.size());
+        histories.entrySet().stream()
+                .filter(entry -> entry.getValue().size() >= minSamples)
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> logger.info("⏱️ {} - p50 {} ms, p99 {} ms, timeout {} ms ({} samples)",
+                        entry.getKey(), entry.getValue().percentile(50), entry.getValue().percentile(99),
+                        learnedMillis(entry.getValue()), entry.getValue().size()));
+        saveHistory();
+    }
+
+    private static long learnedMillis(History history) {
+        double multiplier = Double.parseDouble(ConfigurationManager.getProperty("timeout.adaptive.multiplier", "3"));
+        long minMillis = ConfigurationManager.getIntProperty("timeout.adaptive.min.seconds", 5) * 1000L;
+        long maxMillis = ConfigurationManager.getIntProperty("timeout.adaptive.max.seconds", 180) * 1000L;
+        long learned = Math.round(history.percentile(99) * multiplier);
+        return Math.max(minMillis, Math.min(maxMillis, learned));
+    }
+
+    /**
+     * Get the key for a page-level wait on the current page. Compute it once before the wait and
+     * use it for both {@link #timeoutSecondsFor} and {@link #record}: after the wait the driver
+     * may already be on the next page.
+     * Pages are keyed by host and path, with ids in the path replaced so that one history
+     * covers e.g. every appointment detail page
+     * @param driver WebDriver instance
+     * @param waitName Kind of wait, e.g. "full load"
+     * @return Wait key
+     */
+    public static String pageKey(WebDriver driver, String waitName) {
+        String page;
+        try {
+            URI uri = URI.create(driver.getCurrentUrl());
+            String path = uri.getPath() == null ? "" : uri.getPath()
+                    .replaceAll("/[0-9a-fA-F-]{8,}(?=/|$)", "/{id}")
+                    .replaceAll("/\\d+(?=/|$)", "/{id}");
+            page = uri.getHost() + path;
+        } catch (RuntimeException e) {
+            page = "unknown";
+        }
+        return "page " + waitName + " " + page;
+    }
+
+    private static void registerShutdownHook() {
+        if (hookRegistered) {
+            return;
+        }
+        synchronized (TimeoutPolicy.class) {
+            if (!hookRegistered) {
+                Runtime.getRuntime().addShutdownHook(new Thread(TimeoutPolicy::writeReport, "timeout-policy-report"));
+                hookRegistered = true;
+            }
+        }
+    }
+
+    private static Map<String, History> loadHistory() {
+        Map<String, History> loaded = new ConcurrentHashMap<>();
+        Path historyPath = ConfigurationManager.getFrameworkCacheDir().resolve(HISTORY_FILE);
+        if (!Files.exists(historyPath)) {
+            return loaded;
+        }
+        try {
+            Map<String, Object> json = new Json().toType(Files.readString(historyPath, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            json.forEach((key, samples) -> {
+                if (samples instanceof List) {
+                    History history = new History();
+                    ((List<?>) samples).stream()
+                            .filter(sample -> sample instanceof Number)
+                            .forEach(sample -> history.add(((Number) sample).longValue()));
+                    loaded.put(key, history);
+                }
+            });
+        } catch (IOException | JsonException | ClassCastException e) {
+            logger.warn("⚠️ Could not read timeout history, starting fresh: {}", e.getMessage());
+        }
+        return loaded;
+    }
+
+    private static void saveHistory() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        histories.forEach((key, history) -> json.put(key, history.samples()));
+        Path historyPath = ConfigurationManager.getFrameworkCacheDir().resolve(HISTORY_FILE);
+        try {
+            Files.createDirectories(historyPath.getParent());
+            Path tempFile = Files.createTempFile(historyPath.getParent(), HISTORY_FILE, ".tmp");
+            Files.writeString(tempFile, new Json().toJson(json), StandardCharsets.UTF_8);
+            Files.move(tempFile, historyPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("⚠️ Could not write timeout history: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Most recent successful durations for one key
+     */
+    private static class History {
+        private final LinkedList<Long> durations = new LinkedList<>();
+
+        private synchronized void add(long millis) {
+            durations.addLast(millis);
+            if (durations.size() > MAX_SAMPLES) {
+                durations.removeFirst();
+            }
+        }
+
+        private synchronized int size() {
+            return durations.size();
+        }
+
+        private synchronized List<Long> samples() {
+            return new ArrayList<>(durations);
+        }
+
+        private synchronized long percentile(int percentile) {
+            if (durations.isEmpty()) {
+                return 0;
+            }
+            List<Long> sorted = new ArrayList<>(durations);
+            Collections.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+            return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+        }
+    }
+}
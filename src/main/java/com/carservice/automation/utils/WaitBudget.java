@@ -0,0 +1,144 @@
+package com.carservice.automation.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-step wait accounting for strict wait mode (wait.strict=true).
+ *
+ * In strict mode implicit waits are zero, so every wait a step does is an explicit one. Waits
+ * are recorded here against the running step at the shared choke points: the BasePage waits,
+ * AdaptivePolling (every WaitUtils wait), ReadinessProbe (page-load and readiness waits) and
+ * DomQuietWaiter. A wait that runs inside another one, e.g. a DOM quiet wait inside an app idle
+ * wait, is listed on its own but counted once in the step's waiting time. When a
+ * step takes longer than its budget, the step is reported together with the waits that used
+ * the time, grouped by wait and call site, so a slow step can be traced to the lookups and
+ * sleeps behind it instead of to an implicit wait hidden in a findElement call.
+ *
+ * Budget per step: wait.step.budget.ms (default 20000).
+ */
+public class WaitBudget {
+
+    private static final Logger logger = LogManager.getLogger(WaitBudget.class);
+
+    private static final ThreadLocal<Step> currentStep = new ThreadLocal<>();
+
+    private static final Set<String> WAIT_CLASSES = Set.of(
+            WaitBudget.class.getName(),
+            "com.carservice.automation.base.BasePage",
+            WaitUtils.class.getName(),
+            AdaptivePolling.class.getName(),
+            ReadinessProbe.class.getName(),
+            DomQuietWaiter.class.getName(),
+            AngularStabilityWaiter.class.getName(),
+            SmartPageLoadWaiter.class.getName(),
+            FastPageLoadDetector.class.getName());
+
+    /**
+     * Start accounting for a step on the current thread
+     * @param stepName Name used in the overrun report
+     */
+    public static void startStep(String stepName) {
+        currentStep.set(new Step(stepName, ConfigurationManager.getIntProperty("wait.step.budget.ms", 20000)));
+    }
+
+    /**
+     * Record a finished wait against the running step; ignored when no step is running
+     * @param waitName What was waited for, e.g. "clickable //button[...]"
+     * @param startMillis System.currentTimeMillis() when the wait started
+     */
+    public static void record(String waitName, long startMillis) {
+        Step step = currentStep.get();
+        if (step != null) {
+            step.record(waitName + " @ " + findCallSite(), startMillis, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Finish the running step and report it if it overran its budget
+     * @return true if the step stayed within budget (or no step was running)
+     */
+    public static boolean finishStep() {
+        Step step = currentStep.get();
+        currentStep.remove();
+        if (step == null) {
+            return true;
+        }
+
+        long elapsed = System.currentTimeMillis() - step.startMillis;
+        if (elapsed <= step.budgetMillis) {
+            logger.debug("Step '{}' took {} ms, {} ms of it waiting", step.name, elapsed, step.totalWaitMillis);
+            return true;
+        }
+
+        logger.warn("⏰ Step '{}' took {} ms, over its {} ms budget ({} ms in {} waits)",
+                step.name, elapsed, step.budgetMillis, step.totalWaitMillis, step.waitCount);
+        List<Map.Entry<String, long[]>> waits = new ArrayList<>(step.waits.entrySet());
+        waits.sort((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]));
+        waits.stream().limit(10).forEach(wait -> logger.warn("   ⌛ {} ms in {}x {}",
+                wait.getValue()[1], wait.getValue()[0], wait.getKey()));
+        return false;
+    }
+
+    private static String findCallSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> !isWaitInfrastructure(frame.getClassName()))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("unknown"));
+    }
+
+    /**
+     * Classes that implement waits rather than ask for them, including their nested classes
+     */
+    private static boolean isWaitInfrastructure(String className) {
+        String outer = className.contains("$") ? className.substring(0, className.indexOf('$')) : className;
+        return WAIT_CLASSES.contains(outer);
+    }
+
+    /**
+     * Waits recorded for one step
+     */
+    private static class Step {
+        private final String name;
+        private final long budgetMillis;
+        private final long startMillis = System.currentTimeMillis();
+        // wait and call site -> [count, total ms]
+        private final Map<String, long[]> waits = new LinkedHashMap<>();
+        // [start, end] of the recorded waits not nested in another recorded wait
+        private final List<long[]> outerWaits = new ArrayList<>();
+        private long totalWaitMillis;
+        private int waitCount;
+
+        private Step(String name, long budgetMillis) {
+            this.name = name;
+            this.budgetMillis = budgetMillis;
+        }
+
+        private void record(String wait, long startMillis, long endMillis) {
+            long elapsedMillis = endMillis - startMillis;
+            long[] totals = waits.computeIfAbsent(wait, key -> new long[2]);
+            totals[0]++;
+            totals[1] += elapsedMillis;
+            waitCount++;
+
+            // Inner waits finish first; once the wait around them is recorded, only it counts
+            outerWaits.removeIf(inner -> {
+                boolean nested = inner[0] >= startMillis && inner[1] <= endMillis;
+                if (nested) {
+                    totalWaitMillis -= inner[1] - inner[0];
+                }
+                return nested;
+            });
+            outerWaits.add(new long[]{startMillis, endMillis});
+            totalWaitMillis += elapsedMillis;
+        }
+    }
+}
@@ -17,14 +17,14 @@ public class WaitUtils {
 
     private static final Logger logger = LogManager.getLogger(WaitUtils.class);
     private static final int DEFAULT_TIMEOUT = 20;
-    private static final int DEFAULT_POLLING = 500;
 
     /**
      * Get WebDriverWait instance with default timeout
+     * Polls with fast-start exponential backoff tuned per condition (see {@link AdaptivePolling})
      * @return WebDriverWait instance
      */
     public static WebDriverWait getWebDriverWait() {
-        return new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(DEFAULT_TIMEOUT));
+        return AdaptivePolling.newWait(DriverManager.getDriver(), Duration.ofSeconds(DEFAULT_TIMEOUT));
     }
 
     /**
@@ -33,19 +33,17 @@ public class WaitUtils {
      * @return WebDriverWait instance
      */
     public static WebDriverWait getWebDriverWait(int timeoutInSeconds) {
-        return new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
+        return AdaptivePolling.newWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds));
     }
 
     /**
      * Get FluentWait instance with custom timeout and polling interval
      * @param timeoutInSeconds Timeout in seconds
-     * @param pollingInMillis Polling interval in milliseconds
+     * @param pollingInMillis Longest polling interval in milliseconds; polling starts faster and backs off to it
      * @return FluentWait instance
      */
     public static FluentWait<WebDriver> getFluentWait(int timeoutInSeconds, int pollingInMillis) {
-        return new FluentWait<>(DriverManager.getDriver())
-                .withTimeout(Duration.ofSeconds(timeoutInSeconds))
-                .pollingEvery(Duration.ofMillis(pollingInMillis))
+        return AdaptivePolling.newWait(DriverManager.getDriver(), Duration.ofSeconds(timeoutInSeconds), pollingInMillis)
                 .ignoring(NoSuchElementException.class)
                 .ignoring(StaleElementReferenceException.class);
     }
@@ -421,12 +419,19 @@ public class WaitUtils {
      * @param milliseconds Time to wait in milliseconds
      */
     public static void sleep(int milliseconds) {
+        long start = System.currentTimeMillis();
         try {
+            if (SleepAudit.isEnabled()) {
+                SleepAudit.sleep(DriverManager.isDriverInitialized() ? DriverManager.getDriver() : null, milliseconds);
+                return;
+            }
             logger.debug("Sleeping for " + milliseconds + " milliseconds");
             Thread.sleep(milliseconds);
         } catch (InterruptedException e) {
             logger.warn("Sleep interrupted: " + e.getMessage());
             Thread.currentThread().interrupt();
+        } finally {
+            WaitBudget.record("sleep " + milliseconds + " ms", start);
         }
     }
 
@@ -492,12 +497,50 @@ public class WaitUtils {
         }
     }
 
+    /**
+     * Wait until every Angular root on the page is stable (no pending HTTP calls, timers or change detection)
+     * @return true if Angular reported stable, false if the DOM quiet fallback was used
+     */
+    public static boolean waitForAngularToStabilize() {
+        logger.debug("Waiting for Angular to stabilize");
+        return AngularStabilityWaiter.waitForStable(DriverManager.getDriver());
+    }
+
+    /**
+     * Wait until the DOM has been quiet and no fetch/XHR is in flight for the configured window,
+     * in a single script call (see {@link DomQuietWaiter})
+     * @return true when the page has settled
+     */
+    public static boolean waitForDomQuiet() {
+        return waitForDomQuiet(DomQuietWaiter.getDefaultQuietMillis(), DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Wait until the DOM has been quiet and no fetch/XHR is in flight for a custom window
+     * @param quietMillis Required quiet window in milliseconds
+     * @param timeoutInSeconds Custom timeout
+     * @return true when the page has settled
+     */
+    public static boolean waitForDomQuiet(int quietMillis, int timeoutInSeconds) {
+        logger.debug("Waiting for DOM to be quiet for " + quietMillis + " ms");
+        try {
+            DomQuietWaiter.awaitQuiet(DriverManager.getDriver(), quietMillis, timeoutInSeconds);
+            logger.debug("DOM is quiet");
+            return true;
+        } catch (TimeoutException e) {
+            logger.error("DOM did not settle within " + timeoutInSeconds + " seconds");
+            throw new RuntimeException("DOM quiet timeout", e);
+        }
+    }
+
     /**
      * Wait for Ajax/jQuery to complete (if jQuery is present)
+     * Angular apps are first given the chance to report stable through their testability API
      * @return true when Ajax requests are complete
      */
     public static boolean waitForAjaxToComplete() {
         logger.debug("Waiting for Ajax requests to complete");
+        AngularStabilityWaiter.waitForStable(DriverManager.getDriver());
         try {
             boolean ajaxComplete = getWebDriverWait().until(driver -> {
                 JavascriptExecutor js = (JavascriptExecutor) driver;
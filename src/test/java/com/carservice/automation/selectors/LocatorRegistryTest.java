@@ -0,0 +1,84 @@
+package com.carservice.automation.selectors;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * XPath to CSS translation in {@link LocatorRegistry#toCss}
+ * No browser needed: the translation is pure string handling
+ */
+public class LocatorRegistryTest {
+
+    @DataProvider(name = "translatable")
+    public Object[][] translatable() {
+        return new Object[][]{
+                // Steps and combinators
+                {"//button", "button"},
+                {"//*", "*"},
+                {"//ul/li", "ul > li"},
+                {"//div//span", "div span"},
+                {".//span[contains(@class, 'car-plate')]", "span[class*=\"car-plate\"]"},
+                // Attributes
+                {"//input[@disabled]", "input[disabled]"},
+                {"//app-dialog[@role='dialog']", "app-dialog[role=\"dialog\"]"},
+                {"//*[starts-with(@id, 'mat-')]", "[id^=\"mat-\"]"},
+                {"//td[contains(@class, 'fc-timegrid-slot-lane') and @data-time]",
+                        "td[class*=\"fc-timegrid-slot-lane\"][data-time]"},
+                {"//div[@a='1'][@b='2']", "div[a=\"1\"][b=\"2\"]"},
+                // not()
+                {"//div[not(@hidden)]", "div:not([hidden])"},
+                {"//div[contains(@class, 'hour') and not(contains(@class, 'disabled'))]//p",
+                        "div[class*=\"hour\"]:not([class*=\"disabled\"]) p"},
+                // Quoting
+                {"//a[@title=\"it's\"]", "a[title=\"it's\"]"},
+                {"//a[@title='say \"hi\"']", "a[title=\"say \\\"hi\\\"\"]"},
+                {"//a[@title='C:\\temp']", "a[title=\"C:\\\\temp\"]"},
+                {"//a[@href='/home/page']", "a[href=\"/home/page\"]"},
+                {"//a[@data-x='[1]']", "a[data-x=\"[1]\"]"},
+        };
+    }
+
+    @DataProvider(name = "untranslatable")
+    public Object[][] untranslatable() {
+        return new Object[][]{
+                // text() and string values
+                {"//p[text()='Next']"},
+                {"//p[contains(text(), 'Next')]"},
+                {"//button[contains(., 'Next')]"},
+                {"//div[not(text())]"},
+                // or
+                {"//div[@a='1' or @b='2']"},
+                {"//p[(contains(text(), '+ info') or contains(text(), '+ infos'))]"},
+                // Axes
+                {"//div/parent::div"},
+                {"//p/ancestor::div[contains(@class, 'check-agency')]"},
+                {"//div/preceding-sibling::tui-radio"},
+                {"//div/.."},
+                // Positions
+                {"//li[2]"},
+                {"//li[last()]"},
+                {"//li[position()=1]"},
+                {"(//div)[1]"},
+                // contains with an empty value also matches elements without the attribute
+                {"//div[contains(@class, '')]"},
+                // Not an absolute or descendant path, or malformed
+                {"div"},
+                {"./span"},
+                {"//div[@a='1'"},
+                {"//div[@a='1]"},
+        };
+    }
+
+    @Test(dataProvider = "translatable")
+    public void translatesToEquivalentCss(String xpath, String expectedCss) {
+        assertEquals(LocatorRegistry.toCss(xpath), expectedCss, xpath);
+    }
+
+    @Test(dataProvider = "untranslatable")
+    public void keepsXpathWithoutExactCssEquivalent(String xpath) {
+        assertNull(LocatorRegistry.toCss(xpath), xpath);
+    }
+}
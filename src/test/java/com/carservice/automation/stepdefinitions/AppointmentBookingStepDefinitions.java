@@ -5,6 +5,7 @@ import com.carservice.automation.pages.enduser.VehicleIdentificationPage;
 import com.carservice.automation.pages.enduser.AppointmentFormPage;
 import com.carservice.automation.pages.enduser.RepairerSelectionPage;
 import com.carservice.automation.pages.enduser.AppointmentConfirmationPage;
+import com.carservice.automation.pages.enduser.BookingWizard;
 import com.carservice.automation.utils.AllureUtils;
 import com.carservice.automation.utils.ConfigurationManager;
 import io.cucumber.datatable.DataTable;
@@ -31,6 +32,7 @@ public class AppointmentBookingStepDefinitions {
     private AppointmentFormPage appointmentFormPage;
     private RepairerSelectionPage repairerSelectionPage;
     private AppointmentConfirmationPage confirmationPage;
+    private BookingWizard bookingWizard;
 
     // ============================================================================
     // BACKGROUND STEPS
@@ -311,6 +313,7 @@ public class AppointmentBookingStepDefinitions {
             appointmentFormPage = new AppointmentFormPage(driver);
             repairerSelectionPage = new RepairerSelectionPage(driver);
             confirmationPage = new AppointmentConfirmationPage(driver);
+            bookingWizard = BookingWizard.forDriver(driver);
 
             logger.debug("📦 End-user page objects initialized successfully");
 
@@ -361,27 +364,22 @@ public class AppointmentBookingStepDefinitions {
     }
 
     /**
-     * Smart next button clicking based on current page context
-     * Tries each page's next button until one works
+     * Get BookingWizard instance, ensuring it's initialized
      */
-    private void clickNextButtonBasedOnContext() {
-        try {
-            getVehicleIdentificationPage().clickNextButton();
-            logger.debug("Clicked Next on Vehicle Identification page");
-        } catch (Exception e1) {
-            try {
-                getAppointmentFormPage().clickNextButton();
-                logger.debug("Clicked Next on Appointment Form page");
-            } catch (Exception e2) {
-                try {
-                    getRepairerSelectionPage().clickNextButton();
-                    logger.debug("Clicked Next on Repairer Selection page");
-                } catch (Exception e3) {
-                    logger.error("Could not find clickable Next button on any page");
-                    throw new RuntimeException("Next button not available on current page");
-                }
-            }
+    private BookingWizard getBookingWizard() {
+        if (bookingWizard == null) {
+            initializePageObjects();
         }
+        return bookingWizard;
+    }
+
+    /**
+     * Click Next and wait for the wizard's next step
+     * Fails immediately if a page other than the expected next step appears
+     */
+    private void clickNextButtonBasedOnContext() {
+        BookingWizard.Step step = getBookingWizard().next();
+        logger.debug("Booking wizard moved to {}", step);
     }
 
 // ============================================================================
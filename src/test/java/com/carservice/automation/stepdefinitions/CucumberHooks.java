@@ -5,8 +5,11 @@ import com.carservice.automation.utils.AllureUtils;
 import com.carservice.automation.utils.ConfigurationManager;
 import com.carservice.automation.utils.ScreenshotUtils;
 import com.carservice.automation.utils.FastPageLoadDetector;
+import com.carservice.automation.utils.WaitBudget;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeStep;
 import io.cucumber.java.Scenario;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -25,6 +28,8 @@ public class CucumberHooks {
 
     private static final Logger logger = LogManager.getLogger(CucumberHooks.class);
 
+    private static final ThreadLocal<Integer> stepIndex = ThreadLocal.withInitial(() -> 0);
+
     /**
      * Runs before each scenario
      * Sets up the browser and navigates to the application
@@ -32,15 +37,19 @@ public class CucumberHooks {
     @Before
     public void beforeScenario(Scenario scenario) {
         logger.info("🚀 === Starting Scenario: {} ===", scenario.getName());
+        stepIndex.set(0);
 
         try {
+            // Start the browser in the background so the setup work below overlaps its startup
+            startBrowser();
+
             // Log current configuration for debugging
             ConfigurationManager.logCurrentConfiguration();
 
             // Initialize AllureUtils for the scenario
             AllureUtils.startTestCase(scenario.getName());
 
-            // Set up browser
+            // Set up browser (blocks here until the background startup completes)
             setupBrowser();
 
             // Navigate to appropriate application based on scenario
@@ -84,17 +93,45 @@ public class CucumberHooks {
         }
     }
 
+    /**
+     * Runs before each step
+     * In strict wait mode, starts the step's wait budget
+     */
+    @BeforeStep
+    public void beforeStep(Scenario scenario) {
+        if (ConfigurationManager.isStrictWaitMode()) {
+            stepIndex.set(stepIndex.get() + 1);
+            WaitBudget.startStep(scenario.getName() + " - step " + stepIndex.get() + " (line " + scenario.getLine() + ")");
+        }
+    }
+
+    /**
+     * Runs after each step
+     * Reports the step with the waits that used its time if it overran its budget
+     */
+    @AfterStep
+    public void afterStep(Scenario scenario) {
+        if (ConfigurationManager.isStrictWaitMode() && !WaitBudget.finishStep()) {
+            AllureUtils.addParameter("Wait budget overrun", "step " + stepIndex.get());
+        }
+    }
+
     // Private helper methods
 
-    private void setupBrowser() {
+    private void startBrowser() {
         // Get browser configuration from ConfigurationManager
         String browser = ConfigurationManager.getBrowser();
         boolean headless = ConfigurationManager.isHeadless();
 
         logger.info("🌐 Browser configuration: {} (headless: {})", browser, headless);
 
-        // Initialize driver using DriverManager
-        WebDriver driver = DriverManager.initializeDriver(browser, headless);
+        // Launch the browser on DriverManager's background executor
+        DriverManager.initializeDriverAsync(browser, headless);
+    }
+
+    private void setupBrowser() {
+        // First real driver use - waits for the background startup if it is still running
+        WebDriver driver = DriverManager.getDriver();
 
         // Configure additional timeouts for problematic sites
         configureDriverTimeouts(driver);
@@ -107,12 +144,15 @@ public class CucumberHooks {
 
     private void configureDriverTimeouts(WebDriver driver) {
         try {
+            // Strict wait mode: no implicit wait, every wait is explicit and counted against the step budget
+            int implicitSeconds = ConfigurationManager.isStrictWaitMode() ? 0 : 15;
+
             // Increase timeouts for slow-loading pages
             driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(60)); // Increased from 30s
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(15));   // Increased from 10s
+            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitSeconds));   // Increased from 10s
             driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(45));   // Increased from 30s
 
-            logger.info("⏱️ Driver timeouts configured: PageLoad=60s, Implicit=15s, Script=45s");
+            logger.info("⏱️ Driver timeouts configured: PageLoad=60s, Implicit={}s, Script=45s", implicitSeconds);
         } catch (Exception e) {
             logger.warn("⚠️ Could not configure driver timeouts: {}", e.getMessage());
         }
@@ -243,12 +283,10 @@ public class CucumberHooks {
             // Ultra-fast fallback - just document ready
             try {
                 FastPageLoadDetector.waitForBasicPageReady(driver);
-                Thread.sleep(2000); // Minimal buffer
                 logger.info("✅ Fallback page ready check completed");
 
             } catch (Exception fallbackError) {
                 logger.warn("⚠️ Even basic page ready check failed: {}", fallbackError.getMessage());
-                Thread.sleep(3000); // Last resort wait
             }
         }
     }
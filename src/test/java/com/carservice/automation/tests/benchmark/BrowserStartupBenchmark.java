@@ -0,0 +1,364 @@
+package com.carservice.automation.tests.benchmark;
+
+import com.carservice.automation.base.BrowserProcesses;
+import com.carservice.automation.base.DriverManager;
+import com.carservice.automation.utils.ConfigurationManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures what DriverManager startup costs per browser and mode.
+ *
+ * For every browser × mode combination the first session of the run is the cold start (driver
+ * resolution, driver service and browser launch on a cold disk cache); the following ones are
+ * warm starts. Each iteration records session creation time, first navigation time and the peak
+ * resident memory of the browser process tree, and the run is written to target/benchmark as
+ * JSON and CSV. Pass -Dbenchmark.baseline=&lt;previous json&gt; to log the change in medians.
+ *
+ * Run with: mvn test -Pbenchmark [-Dbenchmark.browsers=chrome,firefox,edge] [-Dbenchmark.modes=headless,headed]
+ */
+public class BrowserStartupBenchmark {
+
+    private static final Logger logger = LogManager.getLogger(BrowserStartupBenchmark.class);
+
+    private static final Path OUTPUT_DIR = Paths.get("target", "benchmark");
+    private static final String[] METRICS = {"createMs", "navigationMs", "peakRssMb"};
+
+    private final List<Sample> samples = new CopyOnWriteArrayList<>();
+
+    @DataProvider(name = "combinations")
+    public Object[][] combinations() {
+        List<Object[]> combinations = new ArrayList<>();
+        for (String browser : getListProperty("benchmark.browsers", "chrome,firefox")) {
+            for (String mode : getListProperty("benchmark.modes", "headless")) {
+                combinations.add(new Object[]{browser, mode});
+            }
+        }
+        return combinations.toArray(new Object[0][]);
+    }
+
+    @Test(dataProvider = "combinations", groups = {"benchmark"},
+            description = "Measure cold and warm session startup for one browser and mode")
+    public void measureStartup(String browser, String mode) {
+        int iterations = Math.max(2, Integer.getInteger("benchmark.iterations", 5));
+        String url = System.getProperty("benchmark.url", ConfigurationManager.getEndUserAppUrl());
+        boolean headless = "headless".equals(mode);
+
+        logger.info("⏱️ Benchmarking {} ({}) - {} iterations, navigating to {}", browser, mode, iterations, url);
+
+        for (int i = 0; i < iterations; i++) {
+            String phase = i == 0 ? "cold" : "warm";
+            try {
+                samples.add(measureOnce(browser, mode, headless, phase, i, url));
+            } catch (RuntimeException e) {
+                if (i == 0) {
+                    throw new SkipException(browser + " (" + mode + ") is not available: " + e.getMessage());
+                }
+                logger.warn("⚠️ Iteration {} of {} ({}) failed: {}", i, browser, mode, e.getMessage());
+            }
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void writeReport() throws IOException {
+        if (samples.isEmpty()) {
+            logger.warn("⚠️ No benchmark samples recorded");
+            return;
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", LocalDateTime.now().toString());
+        report.put("label", System.getProperty("benchmark.label", "current"));
+        report.put("environment", getEnvironment());
+        report.put("summary", summarize());
+        List<Map<String, Object>> rows = new ArrayList<>();
+        samples.forEach(sample -> rows.add(sample.toMap()));
+        report.put("samples", rows);
+
+        Files.createDirectories(OUTPUT_DIR);
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path jsonFile = OUTPUT_DIR.resolve("startup-" + stamp + ".json");
+        Path csvFile = OUTPUT_DIR.resolve("startup-" + stamp + ".csv");
+
+        String json = new Json().toJson(report);
+        Files.writeString(jsonFile, json, StandardCharsets.UTF_8);
+        Files.writeString(OUTPUT_DIR.resolve("startup-latest.json"), json, StandardCharsets.UTF_8);
+        Files.write(csvFile, toCsv(), StandardCharsets.UTF_8);
+
+        logSummary();
+        compareWithBaseline(report);
+        logger.info("📄 Benchmark report written to {} and {}", jsonFile, csvFile);
+    }
+
+    private Sample measureOnce(String browser, String mode, boolean headless, String phase, int iteration, String url) {
+        long start = System.nanoTime();
+        WebDriver driver = DriverManager.initializeDriver(browser, headless);
+        long createMs = (System.nanoTime() - start) / 1_000_000;
+
+        RssSampler sampler = new RssSampler(driver);
+        sampler.start();
+        try {
+            start = System.nanoTime();
+            driver.get(url);
+            long navigationMs = (System.nanoTime() - start) / 1_000_000;
+
+            // Keep sampling briefly so the peak covers post-load work
+            Thread.sleep(500);
+
+            Sample sample = new Sample(browser, mode, phase, iteration, createMs, navigationMs, sampler.stop());
+            logger.info("⏱️ {} {} #{} - create {} ms, navigate {} ms, peak RSS {} MB",
+                    browser, phase, iteration, createMs, navigationMs, sample.peakRssMb);
+            return sample;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Benchmark interrupted", e);
+        } finally {
+            sampler.stop();
+            DriverManager.quitDriver();
+        }
+    }
+
+    private Map<String, Object> getEnvironment() {
+        Map<String, Object> environment = new LinkedHashMap<>();
+        environment.put("os", System.getProperty("os.name") + " " + System.getProperty("os.version"));
+        environment.put("java", System.getProperty("java.version"));
+        environment.put("cpus", Runtime.getRuntime().availableProcessors());
+        environment.put("driverPool", ConfigurationManager.getProperty("driver.pool.enabled", "false"));
+        environment.put("sharedBrowser", ConfigurationManager.getProperty("driver.shared.browser.enabled", "false"));
+        environment.put("profileTemplate", ConfigurationManager.getProperty("driver.profile.template.enabled", "false"));
+        environment.put("blockingProfile", ConfigurationManager.getProperty("network.blocking.profile", "none"));
+        // Switch changes alone can move the numbers, so the comparison flags them
+        Map<String, List<String>> chromeArguments = new LinkedHashMap<>();
+        for (String mode : getListProperty("benchmark.modes", "headless")) {
+            chromeArguments.put(mode, DriverManager.getChromeArguments("headless".equals(mode)));
+        }
+        environment.put("chromeArguments", chromeArguments);
+        return environment;
+    }
+
+    /**
+     * Median and p90 of every metric per browser, mode and phase
+     */
+    private Map<String, Map<String, Long>> summarize() {
+        Map<String, List<Sample>> groups = new LinkedHashMap<>();
+        for (Sample sample : samples) {
+            groups.computeIfAbsent(sample.key(), k -> new ArrayList<>()).add(sample);
+        }
+
+        Map<String, Map<String, Long>> summary = new LinkedHashMap<>();
+        groups.forEach((key, group) -> {
+            Map<String, Long> stats = new LinkedHashMap<>();
+            stats.put("count", (long) group.size());
+            for (String metric : METRICS) {
+                List<Long> values = new ArrayList<>();
+                group.forEach(sample -> values.add(sample.get(metric)));
+                Collections.sort(values);
+                stats.put(metric + ".p50", percentile(values, 50));
+                stats.put(metric + ".p90", percentile(values, 90));
+            }
+            summary.put(key, stats);
+        });
+        return summary;
+    }
+
+    private void logSummary() {
+        logger.info("📊 === BROWSER STARTUP BENCHMARK ===");
+        summarize().forEach((key, stats) -> logger.info("📊 {} (n={}): create p50 {} ms / p90 {} ms, "
+                        + "navigate p50 {} ms / p90 {} ms, peak RSS p50 {} MB",
+                key, stats.get("count"), stats.get("createMs.p50"), stats.get("createMs.p90"),
+                stats.get("navigationMs.p50"), stats.get("navigationMs.p90"), stats.get("peakRssMb.p50")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void compareWithBaseline(Map<String, Object> report) {
+        String baselinePath = System.getProperty("benchmark.baseline");
+        if (baselinePath == null || baselinePath.isBlank()) {
+            return;
+        }
+
+        Map<String, Object> baseline;
+        try {
+            baseline = new Json().toType(Files.readString(Paths.get(baselinePath), StandardCharsets.UTF_8), Json.MAP_TYPE);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("⚠️ Could not read benchmark baseline {}: {}", baselinePath, e.getMessage());
+            return;
+        }
+
+        Map<String, Map<String, Object>> baselineSummary = (Map<String, Map<String, Object>>) baseline.get("summary");
+        Map<String, Map<String, Long>> currentSummary = (Map<String, Map<String, Long>>) report.get("summary");
+        logger.info("📊 === COMPARED WITH {} ({}) ===", baselinePath, baseline.get("label"));
+        Map<String, Object> baselineEnvironment = (Map<String, Object>) baseline.get("environment");
+        Object baselineArguments = baselineEnvironment == null ? null : baselineEnvironment.get("chromeArguments");
+        Object currentArguments = ((Map<String, Object>) report.get("environment")).get("chromeArguments");
+        if (!String.valueOf(currentArguments).equals(String.valueOf(baselineArguments))) {
+            logger.warn("⚠️ Chrome arguments differ from the baseline: {} (baseline: {})", currentArguments, baselineArguments);
+        }
+
+        currentSummary.forEach((key, stats) -> {
+            Map<String, Object> previous = baselineSummary == null ? null : baselineSummary.get(key);
+            if (previous == null) {
+                logger.info("📊 {}: not in baseline", key);
+                return;
+            }
+            StringBuilder line = new StringBuilder(key).append(':');
+            for (String metric : METRICS) {
+                Object before = previous.get(metric + ".p50");
+                if (before instanceof Number) {
+                    long delta = stats.get(metric + ".p50") - ((Number) before).longValue();
+                    line.append(String.format(" %s p50 %+d", metric, delta));
+                }
+            }
+            logger.info("📊 {}", line);
+        });
+    }
+
+    private List<String> toCsv() {
+        List<String> lines = new ArrayList<>();
+        lines.add("browser,mode,phase,iteration,createMs,navigationMs,peakRssMb");
+        for (Sample sample : samples) {
+            lines.add(String.join(",", sample.browser, sample.mode, sample.phase, String.valueOf(sample.iteration),
+                    String.valueOf(sample.createMs), String.valueOf(sample.navigationMs),
+                    String.valueOf(sample.peakRssMb)));
+        }
+        return lines;
+    }
+
+    private static long percentile(List<Long> sortedValues, int percentile) {
+        if (sortedValues.isEmpty()) {
+            return -1;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sortedValues.size()) - 1;
+        return sortedValues.get(Math.max(0, Math.min(index, sortedValues.size() - 1)));
+    }
+
+    private static List<String> getListProperty(String name, String defaultValue) {
+        List<String> values = new ArrayList<>();
+        Arrays.stream(System.getProperty(name, defaultValue).split(","))
+                .map(value -> value.trim().toLowerCase())
+                .filter(value -> !value.isEmpty())
+                .forEach(values::add);
+        return values;
+    }
+
+    /**
+     * Samples the browser process tree RSS in the background while a session is in use
+     */
+    private static class RssSampler {
+        private final WebDriver driver;
+        private final AtomicLong peakBytes = new AtomicLong(-1);
+        private Thread thread;
+
+        private RssSampler(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        private void start() {
+            ProcessHandle process = BrowserProcesses.findBrowserProcess(driver).orElse(null);
+            if (process == null) {
+                return;
+            }
+            thread = new Thread(() -> {
+                while (!Thread.currentThread().isInterrupted() && process.isAlive()) {
+                    peakBytes.accumulateAndGet(BrowserProcesses.getTreeResidentBytes(process), Math::max);
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "benchmark-rss-sampler");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        /**
+         * Stop sampling
+         * @return Peak RSS in MB, or -1 if it could not be measured
+         */
+        private long stop() {
+            if (thread != null) {
+                thread.interrupt();
+                try {
+                    thread.join(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            long peak = peakBytes.get();
+            return peak < 0 ? -1 : peak / (1024 * 1024);
+        }
+    }
+
+    /**
+     * One measured session
+     */
+    private static class Sample {
+        private final String browser;
+        private final String mode;
+        private final String phase;
+        private final int iteration;
+        private final long createMs;
+        private final long navigationMs;
+        private final long peakRssMb;
+
+        private Sample(String browser, String mode, String phase, int iteration,
+                       long createMs, long navigationMs, long peakRssMb) {
+            this.browser = browser;
+            this.mode = mode;
+            this.phase = phase;
+            this.iteration = iteration;
+            this.createMs = createMs;
+            this.navigationMs = navigationMs;
+            this.peakRssMb = peakRssMb;
+        }
+
+        private String key() {
+            return browser + "/" + mode + "/" + phase;
+        }
+
+        private long get(String metric) {
+            switch (metric) {
+                case "createMs":
+                    return createMs;
+                case "navigationMs":
+                    return navigationMs;
+                default:
+                    return peakRssMb;
+            }
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("browser", browser);
+            map.put("mode", mode);
+            map.put("phase", phase);
+            map.put("iteration", iteration);
+            map.put("createMs", createMs);
+            map.put("navigationMs", navigationMs);
+            map.put("peakRssMb", peakRssMb);
+            return map;
+        }
+    }
+}